@@ -0,0 +1,164 @@
+package com.acmerobotics.dashboard;
+
+import java.util.Map;
+
+/**
+ * Chooses camera stream parameters (JPEG quality, downscale factor, and frame rate) within
+ * user-set bounds from the measured frame delivery. When frames are delivered late or would need
+ * more bandwidth than measured, quality is reduced first, then resolution, then frame rate; when
+ * there is ample headroom the steps are undone in reverse order. Adjustments are made at most
+ * every {@link #ADJUSTMENT_INTERVAL} milliseconds so each one can take effect before the next.
+ */
+public final class AdaptiveCameraController {
+    /**
+     * Frames that take longer than this from encoding until they are written are considered
+     * congested.
+     */
+    public static final double TARGET_LATENCY = 200; // ms
+
+    public static final long ADJUSTMENT_INTERVAL = 500; // ms
+
+    private static final int QUALITY_STEP = 10;
+    private static final double SCALE_STEP = 0.75;
+    private static final double FPS_STEP = 0.75;
+
+    /*
+     * Parameters are only raised while the stream uses less than this fraction of the latency
+     * and bandwidth budget, so the controller doesn't oscillate around the limit.
+     */
+    private static final double HEADROOM = 0.5;
+
+    private final int minQuality;
+    private final int maxQuality;
+    private final double minScale;
+    private final double minFps;
+    private final double maxFps;
+
+    // NOTE: guarded by this
+    private int quality;
+    private double scale = 1;
+    private double fps;
+    private long lastAdjustment = -ADJUSTMENT_INTERVAL;
+    private double latency = Double.NaN;
+    private double throughput = Double.NaN;
+
+    /**
+     * Creates a controller starting at the highest quality, full resolution, and the maximum
+     * frame rate.
+     *
+     * @param minQuality lowest JPEG quality (0-100)
+     * @param maxQuality highest JPEG quality (0-100)
+     * @param minScale   smallest downscale factor in (0, 1]
+     * @param minFps     lowest frame rate
+     * @param maxFps     highest frame rate
+     */
+    public AdaptiveCameraController(int minQuality, int maxQuality, double minScale,
+                                    double minFps, double maxFps) {
+        if (minQuality < 0 || maxQuality > 100 || minQuality > maxQuality) {
+            throw new IllegalArgumentException("Invalid quality bounds");
+        }
+        if (!(minScale > 0 && minScale <= 1)) {
+            throw new IllegalArgumentException("Scale must be in (0, 1]");
+        }
+        if (!(minFps > 0 && minFps <= maxFps)) {
+            throw new IllegalArgumentException("Invalid frame rate bounds");
+        }
+
+        this.minQuality = minQuality;
+        this.maxQuality = maxQuality;
+        this.minScale = minScale;
+        this.minFps = minFps;
+        this.maxFps = maxFps;
+
+        quality = maxQuality;
+        fps = maxFps;
+    }
+
+    /**
+     * Feeds a new measurement and adjusts the parameters if due.
+     *
+     * @param frameBytes size of the last encoded frame
+     * @param latency    smoothed frame latency in milliseconds or NaN if unknown
+     * @param throughput smoothed frame throughput in bytes per second or NaN if unknown
+     * @param now        current time in milliseconds
+     * @return true if the parameters changed
+     */
+    public synchronized boolean update(int frameBytes, double latency, double throughput,
+                                       long now) {
+        this.latency = latency;
+        this.throughput = throughput;
+
+        if (Double.isNaN(latency) || now - lastAdjustment < ADJUSTMENT_INTERVAL) {
+            return false;
+        }
+
+        double demand = frameBytes * fps; // bytes/s
+        boolean known = !Double.isNaN(throughput);
+        if (latency > TARGET_LATENCY || (known && demand > throughput)) {
+            lastAdjustment = now;
+            return degrade();
+        } else if (latency < HEADROOM * TARGET_LATENCY
+            && (!known || demand < HEADROOM * throughput)) {
+            lastAdjustment = now;
+            return improve();
+        }
+
+        return false;
+    }
+
+    private boolean degrade() {
+        if (quality > minQuality) {
+            quality = Math.max(minQuality, quality - QUALITY_STEP);
+        } else if (scale > minScale) {
+            scale = Math.max(minScale, scale * SCALE_STEP);
+        } else if (fps > minFps) {
+            fps = Math.max(minFps, fps * FPS_STEP);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean improve() {
+        if (fps < maxFps) {
+            fps = Math.min(maxFps, fps / FPS_STEP);
+        } else if (scale < 1) {
+            scale = Math.min(1, scale / SCALE_STEP);
+        } else if (quality < maxQuality) {
+            quality = Math.min(maxQuality, quality + QUALITY_STEP);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Returns the factor frames are scaled by before encoding.
+     */
+    public synchronized double getScale() {
+        return scale;
+    }
+
+    public synchronized double getFps() {
+        return fps;
+    }
+
+    /**
+     * Adds the chosen parameters and the measurements behind them to telemetry entries, e.g., for
+     * {@link DashboardCore#putTelemetryExtras(Map)}.
+     *
+     * @param data entries to add to
+     * @param prefix key prefix, e.g., {@code "Camera/"}
+     */
+    public synchronized void putTelemetry(Map<String, Object> data, String prefix) {
+        data.put(prefix + "Quality", quality);
+        data.put(prefix + "Scale", scale);
+        data.put(prefix + "FPS", fps);
+        data.put(prefix + "Latency (ms)", latency);
+        data.put(prefix + "Throughput (kB/s)", throughput / 1000);
+    }
+}
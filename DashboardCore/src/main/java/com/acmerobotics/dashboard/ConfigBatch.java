@@ -0,0 +1,72 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.config.ValueProvider;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group of config variable additions and removals that is applied atomically with a single client
+ * update (see {@link DashboardCore#applyConfigBatch(ConfigBatch)}). Operations are applied in the
+ * order they were added to the batch.
+ */
+public class ConfigBatch {
+    static class Operation {
+        final String category;
+        final String name;
+        // null for removals
+        final ValueProvider<?> provider;
+
+        Operation(String category, String name, ValueProvider<?> provider) {
+            this.category = category;
+            this.name = name;
+            this.provider = provider;
+        }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    /**
+     * Adds a config variable with custom provider.
+     *
+     * @param category top-level category
+     * @param name     variable name
+     * @param provider getter/setter for the variable
+     * @param <T>      variable type
+     */
+    public <T> ConfigBatch add(String category, String name, ValueProvider<T> provider) {
+        operations.add(new Operation(category, name, provider));
+        return this;
+    }
+
+    /**
+     * Removes a config variable. Removing a variable that doesn't exist has no effect.
+     *
+     * @param category top-level category
+     * @param name     variable name
+     */
+    public ConfigBatch remove(String category, String name) {
+        operations.add(new Operation(category, name, null));
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Returns the category and name of each variable added by the batch.
+     */
+    public List<String[]> getAddedVariables() {
+        List<String[]> added = new ArrayList<>();
+        for (Operation op : operations) {
+            if (op.provider != null) {
+                added.add(new String[] {op.category, op.name});
+            }
+        }
+        return added;
+    }
+
+    List<Operation> getOperations() {
+        return operations;
+    }
+}
@@ -0,0 +1,93 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Finds config variables changed outside of the dashboard (e.g., static fields assigned by robot
+ * code). Only the leaves directly under the watched paths are checked, and each check compares
+ * against the value last serialized for clients so nothing is boxed or copied while values are
+ * unchanged. Not thread-safe; guarded by the config root.
+ */
+final class ConfigChangeDetector {
+    private List<List<String>> leafPaths = Collections.emptyList();
+    private BasicVariable<?>[] leaves = new BasicVariable<?>[0];
+
+    // config version the leaves were resolved against or -1 if they must be resolved again
+    private int resolvedVersion = -1;
+
+    /*
+     * Forces the leaves to be resolved again on the next sample, e.g. after the watched paths
+     * changed.
+     */
+    void invalidate() {
+        resolvedVersion = -1;
+    }
+
+    /*
+     * Returns true if the leaves must be resolved before sampling the tree of the given version.
+     */
+    boolean needsResolve(int configVersion) {
+        return resolvedVersion != configVersion;
+    }
+
+    /*
+     * Looks up the leaves to watch.
+     *
+     * @param root          config tree
+     * @param paths         watched node paths; a path to a leaf watches just that leaf
+     * @param configVersion version of the tree
+     */
+    void resolve(CustomVariable root, Collection<List<String>> paths, int configVersion) {
+        Map<List<String>, BasicVariable<?>> resolved = new LinkedHashMap<>();
+        for (List<String> path : paths) {
+            ConfigVariable<?> node = root;
+            for (int i = 0; i < path.size() && node != null; i++) {
+                node = node instanceof CustomVariable && node.getValue() != null
+                    ? ((CustomVariable) node).getVariable(path.get(i)) : null;
+            }
+
+            if (node instanceof BasicVariable) {
+                resolved.put(Collections.unmodifiableList(new ArrayList<>(path)),
+                    (BasicVariable<?>) node);
+            } else if (node instanceof CustomVariable && node.getValue() != null) {
+                for (Map.Entry<String, ConfigVariable> entry :
+                    ((CustomVariable) node).entrySet()) {
+                    if (entry.getValue() instanceof BasicVariable) {
+                        List<String> leafPath = new ArrayList<>(path);
+                        leafPath.add(entry.getKey());
+                        resolved.put(Collections.unmodifiableList(leafPath),
+                            (BasicVariable<?>) entry.getValue());
+                    }
+                }
+            }
+        }
+
+        leafPaths = new ArrayList<>(resolved.keySet());
+        leaves = resolved.values().toArray(new BasicVariable<?>[0]);
+        resolvedVersion = configVersion;
+    }
+
+    /*
+     * Returns the watched leaves whose values changed since they were last serialized.
+     */
+    Map<List<String>, BasicVariable<?>> sample() {
+        Map<List<String>, BasicVariable<?>> changed = null;
+        for (int i = 0; i < leaves.length; i++) {
+            if (leaves[i].isChangedSinceSerialization()) {
+                if (changed == null) {
+                    changed = new LinkedHashMap<>();
+                }
+                changed.put(leafPaths.get(i), leaves[i]);
+            }
+        }
+        return changed == null ? Collections.<List<String>, BasicVariable<?>>emptyMap() : changed;
+    }
+}
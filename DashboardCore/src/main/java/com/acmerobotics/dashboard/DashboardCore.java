@@ -1,25 +1,56 @@
 package com.acmerobotics.dashboard;
 
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.canvas.CanvasOp;
 import com.acmerobotics.dashboard.config.ValueProvider;
 import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariableDeserializer;
+import com.acmerobotics.dashboard.config.variable.ConfigSnapshot;
 import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.BinaryMessageCodec;
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.JsonMessageCodec;
 import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageCodec;
 import com.acmerobotics.dashboard.message.MessageDeserializer;
+import com.acmerobotics.dashboard.message.ReceiveImageSerializer;
 import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.ReceiveCameraChannels;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveCanvasLayer;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfigBaseline;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDelta;
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
 import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
 import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.acmerobotics.dashboard.message.redux.SetCameraChannels;
+import com.acmerobotics.dashboard.message.redux.SetCanvasLayers;
+import com.acmerobotics.dashboard.message.redux.SetConfigDelta;
+import com.acmerobotics.dashboard.message.redux.SetConfigExpanded;
+import com.acmerobotics.dashboard.message.redux.SetTelemetryDelta;
+import com.acmerobotics.dashboard.telemetry.TelemetryDeltaEncoder;
 import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacketAdapterFactory;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacketPool;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Main class for interacting with the instance.
@@ -30,17 +61,76 @@ public class DashboardCore {
      */
     private static final int DEFAULT_TELEMETRY_TRANSMISSION_INTERVAL = 100; // ms
 
+    /*
+     * Config variables that clients display are checked for changes made by robot code at this
+     * interval.
+     */
+    private static final int DEFAULT_CONFIG_SAMPLE_INTERVAL = 100; // ms
+
+    /*
+     * Sleep between checks of the sample interval while sampling is disabled.
+     */
+    private static final int CONFIG_SAMPLING_DISABLED_SLEEP = 500; // ms
+
+    /*
+     * Maximum number of telemetry packets queued between transmissions.
+     */
+    private static final int TELEMETRY_BUFFER_CAPACITY = 128;
+
+    /*
+     * Number of recently encoded messages remembered by identity.
+     */
+    private static final int ENCODING_CACHE_SIZE = 8;
+
     public boolean enabled;
 
-    private final Mutex<List<SendFun>> sockets = new Mutex<>(new ArrayList<>());
+    private final Mutex<List<Client>> sockets = new Mutex<>(new ArrayList<>());
 
     private ExecutorService telemetryExecutorService;
-    // NOTE: We're doing fancy stuff that precludes the use of Mutex.
-    private final List<TelemetryPacket> pendingTelemetry = new ArrayList<>(); // guarded by itself
+    // NOTE: Producers are op mode threads that should never block on the transmitter.
+    private final RingBuffer<TelemetryPacket> pendingTelemetry =
+        new RingBuffer<>(TELEMETRY_BUFFER_CAPACITY, RingBuffer.DropPolicy.DROP_OLDEST);
+    private volatile Thread telemetryThread;
+    private volatile boolean telemetryThreadWaiting;
     private volatile int telemetryTransmissionInterval = DEFAULT_TELEMETRY_TRANSMISSION_INTERVAL;
+    // NOTE: guarded by itself; formatted entries added to every transmitted packet
+    private final Map<String, String> telemetryExtras = new TreeMap<>();
+
+    private volatile int compressionLevel = PerMessageDeflate.DEFAULT_COMPRESSION_LEVEL;
+
+    // NOTE: guarded by encodingCacheMessages
+    private final Message[] encodingCacheMessages = new Message[ENCODING_CACHE_SIZE];
+    private final MessageCodec[] encodingCacheCodecs = new MessageCodec[ENCODING_CACHE_SIZE];
+    private final EncodedMessage[] encodingCacheValues = new EncodedMessage[ENCODING_CACHE_SIZE];
+    private int encodingCacheNext;
+
+    private volatile ReceiveCanvasLayer fieldLayer = new ReceiveCanvasLayer(
+        ReceiveCanvasLayer.FIELD_LAYER, 1, TelemetryPacket.createDefaultField());
+    // NOTE: guarded by sockets
+    private final Map<String, CanvasLayerState> canvasLayers = new HashMap<>();
+    // NOTE: guarded by sockets
+    private List<String> cameraChannels = Collections.singletonList(ReceiveImage.DEFAULT_CHANNEL);
+
+    /*
+     * Restores the default drawing state after each named layer inlined for clients that don't
+     * retain layers, so layers don't affect each other or the overlay.
+     */
+    private static final Canvas LAYER_STATE_RESET = new Canvas()
+        .setTranslation(0, 0)
+        .setRotation(0)
+        .setScale(1, 1)
+        .setAlpha(1.0);
 
     private final Mutex<CustomVariable> configRoot = new Mutex<>(new CustomVariable());
     private final Mutex<CustomVariable> configBaseline = new Mutex<>(new CustomVariable());
+    // NOTE: guarded by configRoot; the tree state last published to clients
+    private int configVersion;
+    private ConfigSnapshot configSnapshot = ConfigSnapshot.empty();
+    // NOTE: guarded by configRoot
+    private final ConfigChangeDetector configChangeDetector = new ConfigChangeDetector();
+
+    private ExecutorService configSampleExecutorService;
+    private volatile int configSampleInterval = DEFAULT_CONFIG_SAMPLE_INTERVAL;
 
     // NOTE: Helps to have this here for testing
     public static final Gson GSON = new GsonBuilder()
@@ -49,43 +139,140 @@ public class DashboardCore {
         .registerTypeAdapter(BasicVariable.class, new ConfigVariableDeserializer())
         .registerTypeAdapter(CustomVariable.class, new ConfigVariableSerializer())
         .registerTypeAdapter(CustomVariable.class, new ConfigVariableDeserializer())
+        .registerTypeAdapter(ReceiveImage.class, new ReceiveImageSerializer())
+        .registerTypeAdapterFactory(new TelemetryPacketAdapterFactory())
         .serializeNulls()
         .create();
 
     /**
-     * Creates a deep copy of a CustomVariable by serializing and deserializing it.
-     * This ensures we capture the current state of all configuration values.
+     * Default codec that sends every message as JSON text.
+     */
+    public static final MessageCodec JSON_CODEC = new JsonMessageCodec(GSON);
+
+    /**
+     * Codec for clients that negotiate the {@value BinaryMessageCodec#SUBPROTOCOL} subprotocol.
+     */
+    public static final MessageCodec BINARY_CODEC = new BinaryMessageCodec(GSON);
+
+    /**
+     * Selects the codec for a client based on its {@code Sec-WebSocket-Protocol} header. Like the
+     * web socket server, only the first offered subprotocol is considered.
+     *
+     * @param protocolHeader header value or null if absent
      */
-    private CustomVariable deepCopyConfig(CustomVariable original) {
-        String json = GSON.toJson(original);
-        return GSON.fromJson(json, CustomVariable.class);
+    public static MessageCodec codecForSubprotocols(String protocolHeader) {
+        if (protocolHeader == null) {
+            return JSON_CODEC;
+        }
+
+        String first = protocolHeader.split(",")[0].trim();
+        if (BinaryMessageCodec.SUBPROTOCOL.equals(first)) {
+            return BINARY_CODEC;
+        }
+        return JSON_CODEC;
+    }
+
+    /*
+     * Per-connection state.
+     */
+    private static class Client {
+        final OutboundQueue queue;
+        final MessageCodec codec;
+
+        // null unless the client opted into delta-encoded telemetry
+        volatile TelemetryDeltaEncoder telemetryDelta;
+        // true if the client retains canvas layers
+        volatile boolean canvasLayers;
+        // true if the client receives config deltas; guarded by configRoot
+        boolean configDelta;
+        // config nodes displayed expanded by the client; guarded by configRoot
+        List<List<String>> configExpanded = Collections.emptyList();
+        // camera channels the client subscribed to or null if it never chose any
+        volatile Set<String> cameraChannels;
+        // only accessed by the telemetry thread
+        long lastDroppedCount;
+
+        Client(SendFun sendFun, MessageCodec codec) {
+            queue = new OutboundQueue(sendFun);
+            this.codec = codec;
+        }
+
+        boolean receivesCamera(String channel) {
+            Set<String> channels = cameraChannels;
+            return channels == null
+                ? ReceiveImage.DEFAULT_CHANNEL.equals(channel) : channels.contains(channel);
+        }
+    }
+
+    /*
+     * Last transmitted version of a named canvas layer.
+     */
+    private static class CanvasLayerState {
+        final long hash;
+        final ReceiveCanvasLayer layer;
+
+        CanvasLayerState(long hash, ReceiveCanvasLayer layer) {
+            this.hash = hash;
+            this.layer = layer;
+        }
     }
 
     private class TelemetryUpdateRunnable implements Runnable {
         @Override
         public void run() {
+            telemetryThread = Thread.currentThread();
+
             while (!Thread.currentThread().isInterrupted()) {
                 try {
-                    List<TelemetryPacket> telemetryToSend;
+                    // publish the flag before the final emptiness check so that producers either
+                    // see it and unpark us or queue a packet we're about to see
+                    telemetryThreadWaiting = true;
+                    while (pendingTelemetry.isEmpty()) {
+                        LockSupport.park(this);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+                    telemetryThreadWaiting = false;
 
-                    synchronized (pendingTelemetry) {
-                        while (pendingTelemetry.isEmpty()) {
-                            pendingTelemetry.wait();
+                    List<TelemetryPacket> telemetryToSend = new ArrayList<>();
+                    pendingTelemetry.drainTo(telemetryToSend);
+                    if (telemetryToSend.isEmpty()) {
+                        continue;
+                    }
+
+                    // every packet carries the extras so the delta encoding only sends them when
+                    // they change instead of removing and restoring them between packets
+                    synchronized (telemetryExtras) {
+                        if (!telemetryExtras.isEmpty()) {
+                            for (int i = 0; i < telemetryToSend.size(); i++) {
+                                TelemetryPacket packet = telemetryToSend.get(i);
+                                for (Map.Entry<String, String> entry : telemetryExtras.entrySet()) {
+                                    packet.put(entry.getKey(), (Object) entry.getValue());
+                                }
+                            }
                         }
+                    }
 
-                        telemetryToSend = new ArrayList<>(pendingTelemetry);
-                        pendingTelemetry.clear();
+                    ReceiveCanvasLayer layer = fieldLayer;
+                    for (int i = 0; i < telemetryToSend.size(); i++) {
+                        TelemetryPacket packet = telemetryToSend.get(i);
+                        packet.setFieldLayer(packet.isDefaultFieldDrawn() ? layer.getVersion() : 0);
                     }
 
                     // only the latest packet non-empty field overlay is used
                     // this helps save bandwidth, especially for more complex overlays
+                    TelemetryPacket fieldPacket = null;
                     for (int i = telemetryToSend.size() - 1; i >= 0; i--) {
                         TelemetryPacket packet = telemetryToSend.get(i);
-                        if (!packet.fieldOverlay().getOperations().isEmpty()) {
+                        if (!packet.fieldOverlay().getOperations().isEmpty()
+                            || !packet.getLayers().isEmpty()) {
+                            fieldPacket = packet;
                             for (int j = 0; j < i; j++) {
                                 TelemetryPacket packet2 = telemetryToSend.get(j);
                                 packet2.field().clear();
                                 packet2.fieldOverlay().clear();
+                                packet2.clearLayers();
                             }
                             break;
                         } else {
@@ -93,7 +280,16 @@ public class DashboardCore {
                         }
                     }
 
-                    sendAll(new ReceiveTelemetry(telemetryToSend));
+                    List<ReceiveCanvasLayer> layers = fieldPacket == null
+                        ? Collections.<ReceiveCanvasLayer>emptyList()
+                        : updateCanvasLayers(fieldPacket);
+
+                    sendTelemetry(telemetryToSend, fieldPacket, layer, layers);
+
+                    // every client's encoding is complete, so pooled packets can be reused
+                    for (int i = 0; i < telemetryToSend.size(); i++) {
+                        TelemetryPacketPool.recycle(telemetryToSend.get(i));
+                    }
 
                     Thread.sleep(telemetryTransmissionInterval);
                 } catch (InterruptedException e) {
@@ -103,34 +299,96 @@ public class DashboardCore {
         }
     }
 
+    private class ConfigSampleRunnable implements Runnable {
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                int interval = configSampleInterval;
+                if (enabled && interval > 0) {
+                    sampleConfig();
+                }
+
+                try {
+                    Thread.sleep(interval > 0 ? interval : CONFIG_SAMPLING_DISABLED_SLEEP);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
     public DashboardCore() {
         telemetryExecutorService =
             Executors.newSingleThreadExecutor(r -> new Thread(r, "dash telemetry"));
         telemetryExecutorService.submit(new TelemetryUpdateRunnable());
+
+        configSampleExecutorService =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "dash config sampler"));
+        configSampleExecutorService.submit(new ConfigSampleRunnable());
     }
 
     public SocketHandler newSocket(final SendFun sendFun) {
+        return newSocket(sendFun, JSON_CODEC);
+    }
+
+    /**
+     * Creates a handler for a new client connection.
+     *
+     * @param sendFun transport for outbound messages
+     * @param codec   encoding negotiated with the client
+     */
+    public SocketHandler newSocket(final SendFun sendFun, final MessageCodec codec) {
         return new SocketHandler() {
-            @Override
-            public void onOpen() {
+            private Client client;
+
+            // NOTE: Messages are encoded on the calling thread since they may reference state
+            // that is only safe to read under a lock.
+            private void send(Message message) {
+                client.queue.offer(encode(message, codec));
+            }
+
+            /*
+             * Sends the full config tree along with the version it corresponds to.
+             */
+            private void sendConfig() {
                 configRoot.with(v -> {
-                    sendFun.send(new ReceiveConfig(v));
+                    // pending changes must be published so the tree matches the version
+                    publishConfig(v);
+                    send(new ReceiveConfig(v, configVersion));
                 });
+            }
+
+            @Override
+            public void onOpen() {
+                client = new Client(sendFun, codec);
+
+                sendConfig();
                 
                 configBaseline.with(v -> {
-                    sendFun.send(new ReceiveConfigBaseline(v));
+                    send(new ReceiveConfigBaseline(v));
                 });
 
                 sockets.with(l -> {
-                    l.add(sendFun);
+                    send(new ReceiveCameraChannels(cameraChannels));
+                    l.add(client);
                 });
             }
 
             @Override
             public void onClose() {
                 sockets.with(l -> {
-                    l.remove(sendFun);
+                    l.remove(client);
                 });
+
+                if (client != null) {
+                    client.queue.close();
+
+                    configRoot.with(v -> {
+                        if (!client.configExpanded.isEmpty()) {
+                            configChangeDetector.invalidate();
+                        }
+                    });
+                }
             }
 
             @Override
@@ -142,14 +400,53 @@ public class DashboardCore {
 
                 switch (message.getType()) {
                     case GET_CONFIG: {
-                        configRoot.with(v -> {
-                            sendFun.send(new ReceiveConfig(v));
-                        });
+                        sendConfig();
                         return true;
                     }
                     case GET_CONFIG_BASELINE: {
                         configBaseline.with(v -> {
-                            sendFun.send(new ReceiveConfigBaseline(v));
+                            send(new ReceiveConfigBaseline(v));
+                        });
+                        return true;
+                    }
+                    case SET_TELEMETRY_DELTA: {
+                        client.telemetryDelta = ((SetTelemetryDelta) message).isEnabled()
+                            ? new TelemetryDeltaEncoder() : null;
+                        return true;
+                    }
+                    case SET_CONFIG_DELTA: {
+                        configRoot.with(v -> {
+                            client.configDelta = ((SetConfigDelta) message).isEnabled();
+                        });
+                        // deltas build on the version of the last full tree
+                        sendConfig();
+                        return true;
+                    }
+                    case SET_CONFIG_EXPANDED: {
+                        List<List<String>> paths = ((SetConfigExpanded) message).getPaths();
+                        configRoot.with(v -> {
+                            client.configExpanded = paths;
+                            configChangeDetector.invalidate();
+                        });
+                        return true;
+                    }
+                    case SET_CAMERA_CHANNELS: {
+                        Set<String> channels = Collections.unmodifiableSet(
+                            new HashSet<>(((SetCameraChannels) message).getChannels()));
+                        client.cameraChannels = channels;
+                        return true;
+                    }
+                    case SET_CANVAS_LAYERS: {
+                        boolean enabled = ((SetCanvasLayers) message).isEnabled();
+                        sockets.with(l -> {
+                            // queue the current layers before telemetry starts referencing them
+                            if (enabled && !client.canvasLayers) {
+                                send(fieldLayer);
+                                for (CanvasLayerState state : canvasLayers.values()) {
+                                    send(state.layer);
+                                }
+                            }
+                            client.canvasLayers = enabled;
                         });
                         return true;
                     }
@@ -174,7 +471,8 @@ public class DashboardCore {
      * Queues a telemetry packet to be sent to all clients. Packets are sent in batches of
      * approximate period {@link #getTelemetryTransmissionInterval()}. Clients display the most
      * recent value received for each key, and the data is cleared upon op mode init or a call to
-     * {@link #clearTelemetry()}.
+     * {@link #clearTelemetry()}. The packet is read on the transmission thread and must not be
+     * modified after it is sent.
      *
      * @param telemetryPacket packet to send
      */
@@ -185,17 +483,40 @@ public class DashboardCore {
 
         telemetryPacket.addTimestamp();
 
-        synchronized (pendingTelemetry) {
-            // TODO: a circular buffer is probably a better idea, but this will work for now
-            if (pendingTelemetry.size() > 100) {
-                return;
+        pendingTelemetry.offer(telemetryPacket);
+
+        if (telemetryThreadWaiting) {
+            Thread t = telemetryThread;
+            if (t != null) {
+                LockSupport.unpark(t);
             }
+        }
+    }
 
-            pendingTelemetry.add(telemetryPacket);
+    /**
+     * Adds entries to every telemetry packet transmitted from now on, replacing earlier values of
+     * the same keys. Intended for status reported by the dashboard itself alongside the op mode
+     * telemetry; the entries reach clients with the next packet sent through
+     * {@link #sendTelemetryPacket(TelemetryPacket)} rather than in a packet of their own.
+     *
+     * @param entries values by key
+     */
+    public void putTelemetryExtras(Map<String, ?> entries) {
+        synchronized (telemetryExtras) {
+            for (Map.Entry<String, ?> entry : entries.entrySet()) {
+                telemetryExtras.put(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+        }
+    }
 
-            // There should only be one thread, so we should avoid a thundering herd. (But then
-            // why not just go with notify()?)
-            pendingTelemetry.notifyAll();
+    /**
+     * Stops adding entries added with {@link #putTelemetryExtras(Map)}.
+     *
+     * @param keys keys of the entries
+     */
+    public void removeTelemetryExtras(Collection<String> keys) {
+        synchronized (telemetryExtras) {
+            telemetryExtras.keySet().removeAll(keys);
         }
     }
 
@@ -203,11 +524,43 @@ public class DashboardCore {
      * Clears telemetry data from all clients.
      */
     public void clearTelemetry() {
-        synchronized (pendingTelemetry) {
-            pendingTelemetry.clear();
+        pendingTelemetry.clear();
 
-            sendAll(new ReceiveTelemetry(Collections.<TelemetryPacket>emptyList()));
-        }
+        sendAll(new ReceiveTelemetry(Collections.<TelemetryPacket>emptyList()));
+
+        sockets.with(l -> {
+            for (Client c : l) {
+                TelemetryDeltaEncoder delta = c.telemetryDelta;
+                if (delta != null) {
+                    delta.requestKeyframe();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the policy applied when telemetry packets are produced faster than they can be
+     * transmitted.
+     */
+    public RingBuffer.DropPolicy getTelemetryDropPolicy() {
+        return pendingTelemetry.getDropPolicy();
+    }
+
+    /**
+     * Sets the policy applied when telemetry packets are produced faster than they can be
+     * transmitted. Defaults to {@link RingBuffer.DropPolicy#DROP_OLDEST}.
+     *
+     * @param dropPolicy new drop policy
+     */
+    public void setTelemetryDropPolicy(RingBuffer.DropPolicy dropPolicy) {
+        pendingTelemetry.setDropPolicy(dropPolicy);
+    }
+
+    /**
+     * Returns the number of telemetry packets discarded because the queue was full.
+     */
+    public long getTelemetryDropCount() {
+        return pendingTelemetry.getDropCount();
     }
 
     /**
@@ -227,11 +580,142 @@ public class DashboardCore {
     }
 
     /**
-     * Sends updated configuration data to all instance clients.
+     * Returns the interval in milliseconds at which config variables displayed by clients are
+     * checked for changes made by robot code.
+     */
+    public int getConfigSampleInterval() {
+        return configSampleInterval;
+    }
+
+    /**
+     * Sets the interval at which config variables displayed by clients are checked for changes
+     * made by robot code (e.g., assignments to {@code @Config} fields). Only variables in nodes
+     * that clients report as expanded are checked, and changes are published like
+     * {@link #updateConfig()}.
+     *
+     * @param newSampleInterval sample interval in milliseconds or 0 to disable sampling
+     */
+    public void setConfigSampleInterval(int newSampleInterval) {
+        if (newSampleInterval < 0) {
+            throw new IllegalArgumentException("Sample interval must not be negative");
+        }
+        configSampleInterval = newSampleInterval;
+    }
+
+    /**
+     * Returns the deflate level used for connections that negotiate compression.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the deflate level used for connections that negotiate compression. Only affects new
+     * connections. A level of {@link java.util.zip.Deflater#NO_COMPRESSION} disables compression.
+     *
+     * @param compressionLevel deflate level from 0 to 9
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9");
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Sends updated configuration data to all instance clients. Clients that opted into deltas
+     * only receive the variables that changed since the last update. Nothing is sent if the tree
+     * is unchanged.
      */
     public void updateConfig() {
-        configRoot.with(v -> {
-            sendAll(new ReceiveConfig(v));
+        configRoot.with(this::publishConfig);
+    }
+
+    /*
+     * Diffs the config tree against the last published snapshot and broadcasts the changes.
+     * Must be called with configRoot held.
+     */
+    private void publishConfig(CustomVariable root) {
+        // only the branches whose serialized fragments changed are revisited
+        JsonElement tree = ConfigVariableSerializer.toJsonTree(root);
+        ConfigSnapshot.Diff diff = configSnapshot.update(tree);
+        if (diff.isEmpty()) {
+            return;
+        }
+
+        broadcastConfig(root, tree, diff.getRemoved(), diff.getChanged());
+    }
+
+    /*
+     * Checks the variables clients display for changes made by robot code and publishes only the
+     * changed leaves instead of diffing the whole tree.
+     */
+    private void sampleConfig() {
+        configRoot.with(root -> {
+            if (configChangeDetector.needsResolve(configVersion)) {
+                List<List<String>> paths = new ArrayList<>();
+                sockets.with(l -> {
+                    for (Client c : l) {
+                        paths.addAll(c.configExpanded);
+                    }
+                });
+                configChangeDetector.resolve(root, paths, configVersion);
+            }
+
+            Map<List<String>, BasicVariable<?>> sampled = configChangeDetector.sample();
+            if (sampled.isEmpty()) {
+                return;
+            }
+
+            Map<List<String>, JsonElement> changed = new HashMap<>();
+            for (Map.Entry<List<String>, BasicVariable<?>> entry : sampled.entrySet()) {
+                JsonElement leaf = ConfigVariableSerializer.toJsonTree(entry.getValue());
+                if (!leaf.equals(configSnapshot.get(entry.getKey()))) {
+                    changed.put(entry.getKey(), leaf);
+                }
+            }
+
+            if (!changed.isEmpty()) {
+                configSnapshot.putLeaves(changed);
+                broadcastConfig(root, null, Collections.<List<String>>emptyList(), changed);
+            }
+        });
+    }
+
+    /*
+     * Advances the config version after the snapshot was updated and sends the changes to all
+     * clients. The full tree for clients without deltas is only serialized if it isn't given and
+     * some client needs it. Must be called with configRoot held.
+     */
+    private void broadcastConfig(CustomVariable root, JsonElement tree,
+                                 List<List<String>> removed,
+                                 Map<List<String>, JsonElement> changed) {
+        List<ReceiveConfigDelta.Change> changes = new ArrayList<>();
+        for (Map.Entry<List<String>, JsonElement> entry : changed.entrySet()) {
+            changes.add(new ReceiveConfigDelta.Change(entry.getKey(), entry.getValue()));
+        }
+
+        ReceiveConfigDelta delta =
+            new ReceiveConfigDelta(configVersion, configVersion + 1, removed, changes);
+        configVersion++;
+
+        sockets.with(l -> {
+            ReceiveConfig full = null;
+            Iterator<Client> it = l.iterator();
+            while (it.hasNext()) {
+                Client c = it.next();
+                Message message = delta;
+                if (!c.configDelta) {
+                    if (full == null) {
+                        full = tree == null ? new ReceiveConfig(root, configVersion)
+                            : new ReceiveConfig(tree, configVersion);
+                    }
+                    message = full;
+                }
+                if (!c.queue.offer(encode(message, c.codec))) {
+                    it.remove();
+                }
+            }
         });
     }
 
@@ -258,58 +742,391 @@ public class DashboardCore {
      * @param <T>      variable type
      */
     public <T> void addConfigVariable(String category, String name, ValueProvider<T> provider) {
+        applyConfigBatch(new ConfigBatch().add(category, name, provider));
+    }
+
+    /**
+     * Add several config variables with custom providers to a category. The baseline is captured
+     * and clients are updated once for the whole group, so this is preferable to repeated calls
+     * to {@link #addConfigVariable(String, String, ValueProvider)}.
+     *
+     * @param category  top-level category
+     * @param providers getters/setters for the variables by name
+     */
+    public void addConfigVariables(String category,
+                                   Map<String, ? extends ValueProvider<?>> providers) {
+        ConfigBatch batch = new ConfigBatch();
+        for (Map.Entry<String, ? extends ValueProvider<?>> entry : providers.entrySet()) {
+            batch.add(category, entry.getKey(), entry.getValue());
+        }
+        applyConfigBatch(batch);
+    }
+
+    /**
+     * Remove a config variable.
+     *
+     * @param category top-level category
+     * @param name     variable name
+     */
+    public void removeConfigVariable(String category, String name) {
+        applyConfigBatch(new ConfigBatch().remove(category, name));
+    }
+
+    /**
+     * Applies the additions and removals of a batch atomically. The baseline is captured at most
+     * once and clients receive a single update for the whole batch.
+     *
+     * @param batch config variable operations
+     */
+    public void applyConfigBatch(ConfigBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
         configRoot.with(v -> {
-            CustomVariable catVar = (CustomVariable) v.getVariable(category);
-            if (catVar != null) {
-                catVar.putVariable(name, new BasicVariable<>(provider));
-            } else {
-                catVar = new CustomVariable();
-                catVar.putVariable(name, new BasicVariable<>(provider));
-                v.putVariable(category, catVar);
+            boolean added = false;
+            for (ConfigBatch.Operation op : batch.getOperations()) {
+                CustomVariable catVar = (CustomVariable) v.getVariable(op.category);
+                if (op.provider == null) {
+                    if (catVar != null) {
+                        catVar.removeVariable(op.name);
+                        if (catVar.size() == 0) {
+                            v.removeVariable(op.category);
+                        }
+                    }
+                    continue;
+                }
+
+                if (catVar == null) {
+                    catVar = new CustomVariable();
+                    v.putVariable(op.category, catVar);
+                }
+                catVar.putVariable(op.name, new BasicVariable<>(op.provider));
+                added |= isMissingFromBaseline(op.category, op.name);
             }
-            
-            // Update baseline with current configuration state if this is the first time we're adding this variable
-            configBaseline.with(baseline -> {
-                CustomVariable baselineCatVar = (CustomVariable) baseline.getVariable(category);
-                if (baselineCatVar == null || baselineCatVar.getVariable(name) == null) {
-                    // Capture the current state as baseline
-                    CustomVariable currentSnapshot = deepCopyConfig(v);
-                    
+
+            // Update baseline with current configuration state if we added a new variable
+            if (added) {
+                CustomVariable currentSnapshot = v.snapshot();
+                configBaseline.with(baseline -> {
                     // Clear and copy the new baseline
                     List<String> keysToRemove = new ArrayList<>();
                     baseline.entrySet().forEach(entry -> keysToRemove.add(entry.getKey()));
                     keysToRemove.forEach(baseline::removeVariable);
-                    
-                    currentSnapshot.entrySet().forEach(entry -> 
+
+                    currentSnapshot.entrySet().forEach(entry ->
                         baseline.putVariable(entry.getKey(), entry.getValue()));
+                });
+            }
+
+            updateConfig();
+        });
+    }
+
+    /**
+     * Adds top-level config categories, merging their variables into categories that already
+     * exist. The current values of the added variables become part of the baseline and clients
+     * receive a single update.
+     *
+     * @param categories categories by name
+     */
+    public void addConfigCategories(Map<String, CustomVariable> categories) {
+        if (categories.isEmpty()) {
+            return;
+        }
+
+        configRoot.with(root -> {
+            configBaseline.with(baseline -> {
+                for (Map.Entry<String, CustomVariable> entry : categories.entrySet()) {
+                    mergeCategory(baseline, entry.getKey(), entry.getValue().snapshot());
+                    mergeCategory(root, entry.getKey(), entry.getValue());
                 }
             });
-            
+
             updateConfig();
         });
     }
 
+    private static void mergeCategory(CustomVariable root, String name, CustomVariable category) {
+        // variables may have been added to the category before it was discovered
+        CustomVariable existing = (CustomVariable) root.getVariable(name);
+        if (existing == null) {
+            root.putVariable(name, category);
+            return;
+        }
+        for (Map.Entry<String, ConfigVariable> entry : category.entrySet()) {
+            existing.putVariable(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private boolean isMissingFromBaseline(String category, String name) {
+        return configBaseline.with(baseline -> {
+            CustomVariable baselineCatVar = (CustomVariable) baseline.getVariable(category);
+            return baselineCatVar == null || baselineCatVar.getVariable(name) == null;
+        });
+    }
+
     /**
-     * Remove a config variable.
+     * Encodes a message as JSON text.
      *
-     * @param category top-level category
-     * @param name     variable name
+     * @param message message to encode
+     * @see #encode(Message, MessageCodec)
      */
-    public void removeConfigVariable(String category, String name) {
-        configRoot.with(v -> {
-            CustomVariable catVar = (CustomVariable) v.getVariable(category);
-            catVar.removeVariable(name);
-            if (catVar.size() == 0) {
-                v.removeVariable(category);
+    public EncodedMessage encode(Message message) {
+        return encode(message, JSON_CODEC);
+    }
+
+    /**
+     * Encodes a message for transmission. Encodings of recently seen messages are cached by
+     * identity and codec, so a message instance is only serialized once per codec no matter how
+     * many clients it is sent to. Messages must not be mutated after they are first encoded.
+     *
+     * @param message message to encode
+     * @param codec   codec to encode with
+     */
+    public EncodedMessage encode(Message message, MessageCodec codec) {
+        synchronized (encodingCacheMessages) {
+            for (int i = 0; i < ENCODING_CACHE_SIZE; i++) {
+                if (encodingCacheMessages[i] == message && encodingCacheCodecs[i] == codec) {
+                    return encodingCacheValues[i];
+                }
             }
-            updateConfig();
-        });
+        }
+
+        // serialize outside the lock; a concurrent duplicate encoding is harmless
+        EncodedMessage encoded = codec.encode(message);
+
+        synchronized (encodingCacheMessages) {
+            encodingCacheMessages[encodingCacheNext] = message;
+            encodingCacheCodecs[encodingCacheNext] = codec;
+            encodingCacheValues[encodingCacheNext] = encoded;
+            encodingCacheNext = (encodingCacheNext + 1) % ENCODING_CACHE_SIZE;
+        }
+
+        return encoded;
     }
 
     public void sendAll(Message message) {
+        if (clientCount() == 0) {
+            return;
+        }
+
+        sockets.with(l -> {
+            Iterator<Client> it = l.iterator();
+            while (it.hasNext()) {
+                Client c = it.next();
+                if (!c.queue.offer(encode(message, c.codec))) {
+                    // the client was disconnected for being too slow
+                    it.remove();
+                }
+            }
+        });
+    }
+
+    /*
+     * Sends a telemetry batch to all clients. Clients using full batches share a single encoding
+     * per codec; delta clients get a batch encoded against their own state.
+     *
+     * Clients retaining canvas layers are served first. The field background and named layers are
+     * then inlined into fieldPacket (if any) for the remaining clients, which expect everything
+     * in the packet.
+     */
+    private void sendTelemetry(List<TelemetryPacket> packets, TelemetryPacket fieldPacket,
+                               ReceiveCanvasLayer layer, List<ReceiveCanvasLayer> layers) {
+        List<Client> clients = sockets.with(l -> {
+            return new ArrayList<>(l);
+        });
+
+        sendTelemetry(packets, clients, true);
+
+        if (fieldPacket != null && fieldPacket.isDefaultFieldDrawn()) {
+            fieldPacket.field().getOperations().addAll(0, layer.getCanvas().getOperations());
+        }
+
+        if (!layers.isEmpty()) {
+            List<CanvasOp> layerOps = new ArrayList<>();
+            for (ReceiveCanvasLayer l : layers) {
+                layerOps.addAll(l.getCanvas().getOperations());
+                layerOps.addAll(LAYER_STATE_RESET.getOperations());
+            }
+            fieldPacket.fieldOverlay().getOperations().addAll(0, layerOps);
+        }
+
+        sendTelemetry(packets, clients, false);
+    }
+
+    /*
+     * Assigns versions to the named layers of a packet, transmitting the layers whose content
+     * changed to clients that retain layers. Returns the current version of each layer.
+     */
+    private List<ReceiveCanvasLayer> updateCanvasLayers(TelemetryPacket packet) {
+        Map<String, Canvas> packetLayers = packet.getLayers();
+        if (packetLayers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Long> hashes = new HashMap<>();
+        for (Map.Entry<String, Canvas> entry : packetLayers.entrySet()) {
+            hashes.put(entry.getKey(), hashOperations(entry.getValue()));
+        }
+
+        List<ReceiveCanvasLayer> layers = new ArrayList<>();
+        Map<String, Integer> versions = new LinkedHashMap<>();
+        sockets.with(l -> {
+            for (Map.Entry<String, Canvas> entry : packetLayers.entrySet()) {
+                String name = entry.getKey();
+                long hash = hashes.get(name);
+
+                CanvasLayerState state = canvasLayers.get(name);
+                if (state == null || state.hash != hash) {
+                    // copy the operations since the packet may be recycled
+                    Canvas canvas = new Canvas();
+                    canvas.getOperations().addAll(entry.getValue().getOperations());
+                    int version = state == null ? 1 : state.layer.getVersion() + 1;
+                    state = new CanvasLayerState(hash,
+                        new ReceiveCanvasLayer(name, version, canvas));
+                    canvasLayers.put(name, state);
+
+                    Iterator<Client> it = l.iterator();
+                    while (it.hasNext()) {
+                        Client c = it.next();
+                        if (c.canvasLayers && !c.queue.offer(encode(state.layer, c.codec))) {
+                            it.remove();
+                        }
+                    }
+                }
+
+                layers.add(state.layer);
+                versions.put(name, state.layer.getVersion());
+            }
+        });
+
+        packet.setLayerVersions(versions);
+        return layers;
+    }
+
+    /*
+     * 64-bit FNV-1a hash of the serialized operations.
+     */
+    private static long hashOperations(Canvas canvas) {
+        String json = GSON.toJson(canvas.getOperations());
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < json.length(); i++) {
+            hash ^= json.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private void sendTelemetry(List<TelemetryPacket> packets, List<Client> clients,
+                               boolean canvasLayers) {
+        ReceiveTelemetry full = null;
+        for (Client c : clients) {
+            if (c.canvasLayers != canvasLayers) {
+                continue;
+            }
+
+            EncodedMessage encoded;
+            TelemetryDeltaEncoder delta = c.telemetryDelta;
+            if (delta == null) {
+                if (full == null) {
+                    full = new ReceiveTelemetry(packets);
+                }
+                encoded = encode(full, c.codec);
+            } else {
+                // a lost delta leaves the client out of sync until the next keyframe
+                long droppedCount = c.queue.getDroppedCount();
+                if (droppedCount != c.lastDroppedCount) {
+                    c.lastDroppedCount = droppedCount;
+                    delta.requestKeyframe();
+                }
+                encoded = encode(delta.encode(packets), c.codec);
+            }
+
+            if (!c.queue.offer(encoded)) {
+                sockets.with(l -> {
+                    l.remove(c);
+                });
+            }
+        }
+    }
+
+    /**
+     * Replaces the field background drawn beneath telemetry packets created with
+     * {@code drawDefaultField} set. Clients that retain canvas layers receive the new background
+     * once instead of with every batch.
+     *
+     * @param background background operations; copied, so later changes have no effect
+     */
+    public void setFieldBackground(Canvas background) {
+        Canvas copy = new Canvas();
+        copy.getOperations().addAll(background.getOperations());
+
+        // NOTE: the socket lock orders layer updates with clients opting in
+        sockets.with(l -> {
+            ReceiveCanvasLayer layer = new ReceiveCanvasLayer(ReceiveCanvasLayer.FIELD_LAYER,
+                fieldLayer.getVersion() + 1, copy);
+            fieldLayer = layer;
+
+            Iterator<Client> it = l.iterator();
+            while (it.hasNext()) {
+                Client c = it.next();
+                if (c.canvasLayers && !c.queue.offer(encode(layer, c.codec))) {
+                    it.remove();
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends a camera frame to the clients subscribed to its channel.
+     *
+     * @param frame frame to send
+     */
+    public void sendCameraFrame(ReceiveImage frame) {
+        sockets.with(l -> {
+            Iterator<Client> it = l.iterator();
+            while (it.hasNext()) {
+                Client c = it.next();
+                if (c.receivesCamera(frame.getChannel())
+                    && !c.queue.offer(encode(frame, c.codec))) {
+                    it.remove();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns true if any client is subscribed to the camera channel.
+     */
+    public boolean hasCameraSubscribers(String channel) {
+        return sockets.with(l -> {
+            for (Client c : l) {
+                if (c.receivesCamera(channel)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Sets the camera channel names listed to clients and sends the new list to all of them.
+     *
+     * @param channels channel names
+     */
+    public void setCameraChannels(List<String> channels) {
+        List<String> copy = Collections.unmodifiableList(new ArrayList<>(channels));
         sockets.with(l -> {
-            for (SendFun sf : l) {
-                sf.send(message);
+            cameraChannels = copy;
+
+            ReceiveCameraChannels message = new ReceiveCameraChannels(copy);
+            Iterator<Client> it = l.iterator();
+            while (it.hasNext()) {
+                Client c = it.next();
+                if (!c.queue.offer(encode(message, c.codec))) {
+                    it.remove();
+                }
             }
         });
     }
@@ -319,4 +1136,89 @@ public class DashboardCore {
             return l.size();
         });
     }
+
+    /**
+     * Returns true if every client subscribed to the camera channel still has a frame of it
+     * waiting to be written (trivially true without subscribers). A new frame would only replace
+     * the pending ones, so producers can skip encoding it; the frame rate then drops to what the
+     * fastest client can take instead of latency building up.
+     */
+    public boolean isImageBacklogged(String channel) {
+        return sockets.with(l -> {
+            for (Client c : l) {
+                if (c.receivesCamera(channel) && !c.queue.hasQueuedImage(channel)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Returns the worst smoothed latency in milliseconds of a camera channel's frames (from
+     * queueing a frame until it was written) among the clients subscribed to it or NaN if no frame
+     * was written yet.
+     */
+    public double getImageLatency(String channel) {
+        return sockets.with(l -> {
+            double worst = Double.NaN;
+            for (Client c : l) {
+                if (!c.receivesCamera(channel)) {
+                    continue;
+                }
+                double latency = c.queue.getImageLatency(channel);
+                if (!Double.isNaN(latency) && (Double.isNaN(worst) || latency > worst)) {
+                    worst = latency;
+                }
+            }
+            return worst;
+        });
+    }
+
+    /**
+     * Returns the lowest smoothed throughput in bytes per second of a camera channel's frames
+     * among the clients subscribed to it or NaN if no frame was written yet.
+     */
+    public double getImageThroughput(String channel) {
+        return sockets.with(l -> {
+            double worst = Double.NaN;
+            for (Client c : l) {
+                if (!c.receivesCamera(channel)) {
+                    continue;
+                }
+                double throughput = c.queue.getImageThroughput(channel);
+                if (!Double.isNaN(throughput) && (Double.isNaN(worst) || throughput < worst)) {
+                    worst = throughput;
+                }
+            }
+            return worst;
+        });
+    }
+
+    /**
+     * Returns the number of messages waiting to be written to each connected client.
+     */
+    public List<Integer> getClientQueueDepths() {
+        return sockets.with(l -> {
+            List<Integer> depths = new ArrayList<>();
+            for (Client c : l) {
+                depths.add(c.queue.getDepth());
+            }
+            return depths;
+        });
+    }
+
+    /**
+     * Returns the total number of stale messages discarded for slow clients that are still
+     * connected.
+     */
+    public long getClientDropCount() {
+        return sockets.with(l -> {
+            long count = 0;
+            for (Client c : l) {
+                count += c.queue.getDroppedCount();
+            }
+            return count;
+        });
+    }
 }
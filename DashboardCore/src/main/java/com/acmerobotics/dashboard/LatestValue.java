@@ -0,0 +1,114 @@
+package com.acmerobotics.dashboard;
+
+/**
+ * Single-slot handoff holding the most recent value published by a producer. Each consumer reads
+ * through its own {@link Reader} and waits for a value newer than the last one it saw; values
+ * published in between are skipped. A slow consumer therefore sees fewer values rather than older
+ * ones, and never holds up the producer or the other consumers.
+ *
+ * @param <T> value type
+ */
+public final class LatestValue<T> {
+    // NOTE: guarded by this
+    private T value;
+    private long sequence;
+    private boolean closed;
+
+    /**
+     * Replaces the current value and wakes waiting readers.
+     *
+     * @param value new value; must not be modified afterwards
+     */
+    public synchronized void publish(T value) {
+        this.value = value;
+        sequence++;
+        notifyAll();
+    }
+
+    /**
+     * Returns the current value or null if none was published.
+     */
+    public synchronized T get() {
+        return value;
+    }
+
+    /**
+     * Returns the number of values published so far.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Wakes all waiting readers and makes later reads return null once they've seen the current
+     * value.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Creates a reader that starts with the next value published.
+     */
+    public synchronized Reader newReader() {
+        return new Reader(sequence);
+    }
+
+    /**
+     * Creates a reader that starts with the current value or, if there is none, the next value
+     * published.
+     */
+    public synchronized Reader newReaderFromCurrent() {
+        return new Reader(value == null ? sequence : sequence - 1);
+    }
+
+    /**
+     * Per-consumer view of the value. Not thread-safe.
+     */
+    public final class Reader {
+        private long seen;
+
+        private Reader(long seen) {
+            this.seen = seen;
+        }
+
+        /**
+         * Returns a value newer than the last one returned without waiting or null if there is
+         * none.
+         */
+        public T poll() {
+            synchronized (LatestValue.this) {
+                if (sequence == seen) {
+                    return null;
+                }
+                seen = sequence;
+                return value;
+            }
+        }
+
+        /**
+         * Waits for a value newer than the last one returned.
+         *
+         * @param timeoutMs maximum time to wait in milliseconds
+         * @return new value or null if the timeout elapsed or the slot was closed
+         */
+        public T next(long timeoutMs) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            synchronized (LatestValue.this) {
+                while (sequence == seen && !closed) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    LatestValue.this.wait(remaining);
+                }
+                return poll();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.acmerobotics.dashboard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Camera frames served as a {@code multipart/x-mixed-replace} (MJPEG) HTTP body, which browsers
+ * display natively in an {@code <img>} element. Frames published while nobody is watching are
+ * dropped. Otherwise each frame is framed as a multipart part once, by the first viewer that
+ * reads it; every viewer then copies the same bytes to its connection. Viewers that fall behind
+ * skip to the newest frame instead of buffering old ones.
+ */
+public final class MjpegStream {
+    public static final String BOUNDARY = "dashframe";
+    public static final String CONTENT_TYPE = "multipart/x-mixed-replace; boundary=" + BOUNDARY;
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    /*
+     * Viewers wake up at this interval to notice the stream closing.
+     */
+    private static final int POLL_INTERVAL = 1000; // ms
+
+    private final LatestValue<Part> parts = new LatestValue<>();
+    private final AtomicInteger viewerCount = new AtomicInteger();
+
+    /*
+     * A published frame, framed as a multipart part the first time a viewer reads it.
+     */
+    private static class Part {
+        private final byte[] jpeg;
+        // NOTE: guarded by this
+        private byte[] bytes;
+
+        Part(byte[] jpeg) {
+            this.jpeg = jpeg;
+        }
+
+        synchronized byte[] getBytes() {
+            if (bytes == null) {
+                byte[] header = ("--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n"
+                    + "Content-Length: " + jpeg.length + "\r\n\r\n").getBytes(US_ASCII);
+                bytes = new byte[header.length + jpeg.length + 2];
+                System.arraycopy(header, 0, bytes, 0, header.length);
+                System.arraycopy(jpeg, 0, bytes, header.length, jpeg.length);
+                bytes[bytes.length - 2] = '\r';
+                bytes[bytes.length - 1] = '\n';
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Publishes a frame to all viewers. The frame is dropped if there are none. The data must
+     * not be modified afterwards.
+     *
+     * @param jpeg JPEG data
+     */
+    public void publish(byte[] jpeg) {
+        if (getViewerCount() == 0) {
+            return;
+        }
+
+        parts.publish(new Part(jpeg));
+    }
+
+    /**
+     * Returns the number of open viewer streams.
+     */
+    public int getViewerCount() {
+        return viewerCount.get();
+    }
+
+    /**
+     * Opens a response body for a new viewer. The stream starts with the most recent frame
+     * published to a viewer (if any), blocks until newer frames are published, and ends once {@link #close()} is called.
+     * It must be closed when the viewer disconnects.
+     */
+    public InputStream newViewerStream() {
+        viewerCount.incrementAndGet();
+        return new ViewerInputStream();
+    }
+
+    /**
+     * Ends all viewer streams.
+     */
+    public void close() {
+        parts.close();
+    }
+
+    private class ViewerInputStream extends InputStream {
+        private final LatestValue<Part>.Reader reader = parts.newReaderFromCurrent();
+
+        private byte[] part;
+        private int pos;
+        private volatile boolean closed;
+
+        /*
+         * Returns false once the stream has ended.
+         */
+        private boolean awaitData() throws IOException {
+            while (part == null || pos == part.length) {
+                if (closed || parts.isClosed()) {
+                    return false;
+                }
+
+                try {
+                    Part next = reader.next(POLL_INTERVAL);
+                    if (next != null) {
+                        part = next.getBytes();
+                        pos = 0;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return awaitData() ? part[pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!awaitData()) {
+                return -1;
+            }
+            int n = Math.min(len, part.length - pos);
+            System.arraycopy(part, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return part == null ? 0 : part.length - pos;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                viewerCount.decrementAndGet();
+            }
+        }
+    }
+}
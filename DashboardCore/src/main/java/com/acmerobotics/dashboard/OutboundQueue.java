@@ -0,0 +1,356 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded, per-client outbound message queue drained by a dedicated writer thread. Callers never
+ * block on the client's connection, so one slow client cannot hold up the others.
+ *
+ * <p>When the queue backs up, stale droppable messages (see {@link Message#isDroppable()}) are
+ * discarded oldest first; other messages are never dropped. A client whose queue exceeds the
+ * limits and doesn't drain back under them within {@link #SLOW_CLIENT_TIMEOUT} is disconnected, as
+ * is a client whose connection fails a write.
+ */
+public final class OutboundQueue {
+    /*
+     * Droppable messages are evicted once either limit is exceeded.
+     */
+    private static final int MAX_QUEUED_MESSAGES = 32;
+    private static final int MAX_QUEUED_BYTES = 1 << 20;
+
+    /*
+     * Non-droppable messages alone may exceed the limits above; past this many the client is
+     * considered hopeless and disconnected immediately.
+     */
+    private static final int HARD_MAX_QUEUED_MESSAGES = 256;
+
+    public static final int SLOW_CLIENT_TIMEOUT = 5000; // ms
+
+    /*
+     * Weight of each new sample in the camera frame delivery averages.
+     */
+    private static final double IMAGE_STATS_SMOOTHING = 0.25;
+
+    private final SendFun sendFun;
+    private final ExecutorService writerExecutor;
+
+    // NOTE: everything below is guarded by queue
+    private final ArrayDeque<EncodedMessage> queue = new ArrayDeque<>();
+    private int queuedBytes;
+    private long droppedCount;
+    private long backedUpSince; // ms timestamp, 0 if not backed up
+    private boolean closed;
+    // at most one camera frame per channel is queued at a time; this is when it was offered
+    private final Map<String, Long> imageOfferedAt = new HashMap<>();
+    // smoothed delivery statistics per camera channel; absent until a frame of it is written
+    private final Map<String, ImageStats> imageStats = new HashMap<>();
+
+    /*
+     * Smoothed camera frame delivery statistics of one channel.
+     */
+    private static class ImageStats {
+        double latency; // ms from offer to written
+        double throughput; // bytes/s while writing
+
+        ImageStats(double latency, double throughput) {
+            this.latency = latency;
+            this.throughput = throughput;
+        }
+
+        void add(double latency, double throughput) {
+            this.latency += IMAGE_STATS_SMOOTHING * (latency - this.latency);
+            this.throughput += IMAGE_STATS_SMOOTHING * (throughput - this.throughput);
+        }
+    }
+
+    private class WriterRunnable implements Runnable {
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                EncodedMessage message;
+                long offeredAt;
+                synchronized (queue) {
+                    while (queue.isEmpty() && !closed) {
+                        try {
+                            queue.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+
+                    if (closed) {
+                        return;
+                    }
+
+                    message = queue.pollFirst();
+                    queuedBytes -= message.getPayload().length;
+                    // only the writer making progress clears the state; a stalled connection
+                    // stays backed up even while evictions keep the queue within its limits
+                    if (!isOverLimit()) {
+                        backedUpSince = 0;
+                    }
+                    Long imageOffered = removeImageOfferedAt(message.getMessage());
+                    offeredAt = imageOffered == null ? 0 : imageOffered;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    sendFun.send(message);
+                } catch (RuntimeException e) {
+                    // NOTE: nobody reads the writer's future, so the failure has to be handled
+                    // here or the client would linger until its queue overflows
+                    synchronized (queue) {
+                        discard();
+                    }
+                    disconnect();
+                    return;
+                }
+                long end = System.nanoTime();
+
+                if (message.getMessage().getType() == MessageType.RECEIVE_IMAGE) {
+                    recordImageSent(((ReceiveImage) message.getMessage()).getChannel(),
+                        message.getPayload().length, offeredAt, start, end);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a queue and starts its writer thread.
+     *
+     * @param sendFun underlying (blocking) send function
+     */
+    public OutboundQueue(SendFun sendFun) {
+        this.sendFun = sendFun;
+
+        writerExecutor =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "dash client writer"));
+        writerExecutor.submit(new WriterRunnable());
+    }
+
+    /**
+     * Returns the underlying send function.
+     */
+    public SendFun getSendFun() {
+        return sendFun;
+    }
+
+    /**
+     * Queues an encoded message for transmission.
+     *
+     * @param message message to send
+     * @return false iff the client was disconnected or is being disconnected
+     */
+    public boolean offer(EncodedMessage message) {
+        boolean disconnect = false;
+
+        synchronized (queue) {
+            if (closed) {
+                return false;
+            }
+
+            queue.addLast(message);
+            queuedBytes += message.getPayload().length;
+
+            if (message.getMessage().getType() == MessageType.RECEIVE_IMAGE) {
+                // a queued frame is always superseded by a newer one of the same channel
+                String channel = ((ReceiveImage) message.getMessage()).getChannel();
+                evictDroppable(channel);
+                imageOfferedAt.put(channel, System.nanoTime());
+            }
+
+            long now = System.currentTimeMillis();
+            if (isOverLimit()) {
+                evictDroppable(null);
+
+                if (backedUpSince == 0) {
+                    backedUpSince = now;
+                }
+            }
+
+            if (queue.size() > HARD_MAX_QUEUED_MESSAGES
+                || (backedUpSince != 0 && now - backedUpSince > SLOW_CLIENT_TIMEOUT)) {
+                discard();
+                disconnect = true;
+            }
+
+            queue.notifyAll();
+        }
+
+        if (disconnect) {
+            disconnect();
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Marks the queue closed and drops the pending messages. Must be called with queue held.
+     */
+    private void discard() {
+        closed = true;
+        queue.clear();
+        imageOfferedAt.clear();
+        queuedBytes = 0;
+        queue.notifyAll();
+    }
+
+    /*
+     * Stops the writer and closes the connection. The queue must already be closed.
+     */
+    private void disconnect() {
+        writerExecutor.shutdownNow();
+        // closing may itself block on the stalled connection
+        new Thread(sendFun::close, "dash client close").start();
+    }
+
+    private void recordImageSent(String channel, int bytes, long offeredAt, long start,
+                                 long end) {
+        double latency = (end - offeredAt) / 1e6;
+        // sub-millisecond writes only reached the socket buffer and say little about the link
+        double throughput = bytes / (Math.max(end - start, 1000000L) / 1e9);
+        synchronized (queue) {
+            ImageStats stats = imageStats.get(channel);
+            if (stats == null) {
+                imageStats.put(channel, new ImageStats(latency, throughput));
+            } else {
+                stats.add(latency, throughput);
+            }
+        }
+    }
+
+    private boolean isOverLimit() {
+        return queue.size() > MAX_QUEUED_MESSAGES || queuedBytes > MAX_QUEUED_BYTES;
+    }
+
+    /*
+     * Evicts droppable messages oldest first, either all camera frames of the given channel or,
+     * if the channel is null, until the queue is within its limits. The newest message is never
+     * evicted.
+     */
+    private void evictDroppable(String imageChannel) {
+        Iterator<EncodedMessage> it = queue.iterator();
+        int remaining = queue.size();
+        while (it.hasNext() && remaining-- > 1) {
+            EncodedMessage queued = it.next();
+            Message m = queued.getMessage();
+            if (!m.isDroppable()) {
+                continue;
+            }
+
+            if (imageChannel != null) {
+                if (!isImage(m, imageChannel)) {
+                    continue;
+                }
+            } else if (!isOverLimit()) {
+                return;
+            }
+
+            it.remove();
+            queuedBytes -= queued.getPayload().length;
+            droppedCount++;
+            removeImageOfferedAt(m);
+        }
+    }
+
+    /*
+     * Forgets when a camera frame leaving the queue was offered and returns that time (or null
+     * for other messages).
+     */
+    private Long removeImageOfferedAt(Message message) {
+        if (message.getType() != MessageType.RECEIVE_IMAGE) {
+            return null;
+        }
+        return imageOfferedAt.remove(((ReceiveImage) message).getChannel());
+    }
+
+    private static boolean isImage(Message message, String channel) {
+        return message.getType() == MessageType.RECEIVE_IMAGE
+            && channel.equals(((ReceiveImage) message).getChannel());
+    }
+
+    /**
+     * Returns the number of messages waiting to be written.
+     */
+    public int getDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Returns true if a camera frame of the given channel is waiting to be written.
+     */
+    public boolean hasQueuedImage(String channel) {
+        synchronized (queue) {
+            return imageOfferedAt.containsKey(channel);
+        }
+    }
+
+    /**
+     * Returns the number of payload bytes waiting to be written.
+     */
+    public int getQueuedBytes() {
+        synchronized (queue) {
+            return queuedBytes;
+        }
+    }
+
+    /**
+     * Returns the smoothed time in milliseconds from offering a camera frame of the channel until
+     * it was written or NaN if no frame of it was written yet.
+     */
+    public double getImageLatency(String channel) {
+        synchronized (queue) {
+            ImageStats stats = imageStats.get(channel);
+            return stats == null ? Double.NaN : stats.latency;
+        }
+    }
+
+    /**
+     * Returns the smoothed rate in bytes per second at which camera frames of the channel were
+     * written or NaN if no frame of it was written yet.
+     */
+    public double getImageThroughput(String channel) {
+        synchronized (queue) {
+            ImageStats stats = imageStats.get(channel);
+            return stats == null ? Double.NaN : stats.throughput;
+        }
+    }
+
+    /**
+     * Returns the number of stale messages discarded for this client.
+     */
+    public long getDroppedCount() {
+        synchronized (queue) {
+            return droppedCount;
+        }
+    }
+
+    public boolean isClosed() {
+        synchronized (queue) {
+            return closed;
+        }
+    }
+
+    /**
+     * Discards pending messages and stops the writer thread. Does not close the connection.
+     */
+    public void close() {
+        synchronized (queue) {
+            discard();
+        }
+
+        writerExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,385 @@
+package com.acmerobotics.dashboard;
+
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.MessageType;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Per-connection state of the RFC 7692 permessage-deflate WebSocket extension. The server keeps
+ * its compression context between messages (unless the client asks otherwise), which is where
+ * most of the savings on repetitive telemetry and config messages come from.
+ *
+ * <p>The WebSocket server in use knows nothing about extensions: it rejects frames with reserved
+ * bits set and never sets them itself. Outgoing compressed frames are therefore written with
+ * {@link #writeFrame(OutputStream, int, boolean, byte[])}, and incoming frames are decompressed
+ * before the server sees them by reading through {@link #inflatingStream(InputStream)}.
+ */
+public final class PerMessageDeflate {
+    public static final String EXTENSION_NAME = "permessage-deflate";
+
+    /*
+     * Header carrying extension offers and the accepted extension (lowercase, like the server).
+     */
+    public static final String HEADER_WEBSOCKET_EXTENSIONS = "sec-websocket-extensions";
+
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    /*
+     * Messages smaller than this are sent uncompressed since framing overhead eats the savings.
+     */
+    private static final int MIN_COMPRESSED_SIZE = 64;
+
+    private static final byte[] DEFLATE_TAIL = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int FLAG_FIN = 0x80;
+    private static final int FLAG_RSV1 = 0x40;
+
+    private final boolean serverNoContextTakeover;
+
+    // NOTE: guarded by this; the deflate context must advance in the same order frames are written
+    private final Deflater deflater;
+    private byte[] deflateBuffer = new byte[1024];
+    private boolean closed;
+
+    // NOTE: guarded by inflater
+    private final Inflater inflater = new Inflater(true);
+    private byte[] inflateBuffer = new byte[1024];
+    private boolean inflaterClosed;
+
+    private PerMessageDeflate(int level, boolean serverNoContextTakeover) {
+        this.deflater = new Deflater(level, true);
+        this.serverNoContextTakeover = serverNoContextTakeover;
+    }
+
+    /**
+     * Negotiates the extension from a client's offers.
+     *
+     * @param extensionsHeader value of the {@code Sec-WebSocket-Extensions} request header or null
+     * @param level            deflate compression level; {@link Deflater#NO_COMPRESSION} disables
+     *                         the extension
+     * @return extension state or null if no acceptable offer was made
+     */
+    public static PerMessageDeflate negotiate(String extensionsHeader, int level) {
+        if (extensionsHeader == null || level == Deflater.NO_COMPRESSION) {
+            return null;
+        }
+
+        for (String offer : extensionsHeader.split(",")) {
+            String[] params = offer.split(";");
+            if (!EXTENSION_NAME.equals(params[0].trim())) {
+                continue;
+            }
+
+            boolean acceptable = true;
+            boolean serverNoContextTakeover = false;
+            for (int i = 1; i < params.length && acceptable; i++) {
+                String[] param = params[i].split("=", 2);
+                String name = param[0].trim();
+                String value = param.length > 1 ? param[1].trim().replace("\"", "") : null;
+                switch (name) {
+                    case "server_no_context_takeover":
+                        serverNoContextTakeover = true;
+                        break;
+                    case "client_no_context_takeover":
+                    case "client_max_window_bits":
+                        // the inflater handles any window and context mode
+                        break;
+                    case "server_max_window_bits":
+                        // Deflater only supports the default 15-bit window
+                        acceptable = "15".equals(value);
+                        break;
+                    default:
+                        acceptable = false;
+                }
+            }
+
+            if (acceptable) {
+                return new PerMessageDeflate(level, serverNoContextTakeover);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the {@code Sec-WebSocket-Extensions} response header value accepting the offer.
+     */
+    public String getResponseHeader() {
+        return serverNoContextTakeover
+            ? EXTENSION_NAME + "; server_no_context_takeover" : EXTENSION_NAME;
+    }
+
+    /**
+     * Returns true if the message is worth compressing. Camera frames are already JPEG-compressed
+     * and are skipped.
+     */
+    public boolean shouldCompress(EncodedMessage message) {
+        return message.getPayload().length >= MIN_COMPRESSED_SIZE
+            && message.getMessage().getType() != MessageType.RECEIVE_IMAGE;
+    }
+
+    /**
+     * Compresses a message payload. Callers must write the result before compressing the next
+     * message.
+     *
+     * @param payload uncompressed message payload
+     */
+    public synchronized byte[] compress(byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("Connection closed");
+        }
+
+        deflater.setInput(payload);
+
+        int length = 0;
+        while (true) {
+            int n = deflater.deflate(deflateBuffer, length, deflateBuffer.length - length,
+                Deflater.SYNC_FLUSH);
+            length += n;
+            if (length < deflateBuffer.length) {
+                break;
+            }
+            deflateBuffer = Arrays.copyOf(deflateBuffer, deflateBuffer.length * 2);
+        }
+
+        if (serverNoContextTakeover) {
+            deflater.reset();
+        }
+
+        // the sync flush always ends with an empty stored block that the extension omits
+        return Arrays.copyOf(deflateBuffer, length - DEFLATE_TAIL.length);
+    }
+
+    /**
+     * Decompresses a message payload received from the client.
+     *
+     * @param payload compressed message payload
+     */
+    public byte[] decompress(byte[] payload) throws IOException {
+        byte[] input = Arrays.copyOf(payload, payload.length + DEFLATE_TAIL.length);
+        System.arraycopy(DEFLATE_TAIL, 0, input, payload.length, DEFLATE_TAIL.length);
+
+        synchronized (inflater) {
+            if (inflaterClosed) {
+                throw new IOException("Connection closed");
+            }
+
+            inflater.setInput(input);
+
+            int length = 0;
+            try {
+                while (true) {
+                    length += inflater.inflate(inflateBuffer, length,
+                        inflateBuffer.length - length);
+                    if (length < inflateBuffer.length
+                        && (inflater.needsInput() || inflater.finished())) {
+                        break;
+                    }
+                    if (length == inflateBuffer.length) {
+                        inflateBuffer = Arrays.copyOf(inflateBuffer, inflateBuffer.length * 2);
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            }
+
+            // a final block ends the client's stream; the next message starts a new one
+            if (inflater.finished()) {
+                inflater.reset();
+            }
+
+            return Arrays.copyOf(inflateBuffer, length);
+        }
+    }
+
+    /**
+     * Releases the native compression state. Later calls to {@link #compress(byte[])} and
+     * {@link #decompress(byte[])} fail.
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            deflater.end();
+        }
+
+        synchronized (inflater) {
+            inflaterClosed = true;
+            inflater.end();
+        }
+    }
+
+    /**
+     * Writes an unfragmented, unmasked server frame.
+     *
+     * @param out        connection output stream
+     * @param opCode     frame opcode
+     * @param compressed true if the payload is compressed (sets RSV1)
+     * @param payload    frame payload
+     */
+    public static void writeFrame(OutputStream out, int opCode, boolean compressed, byte[] payload)
+        throws IOException {
+        byte[] header = frameHeader(FLAG_FIN | (compressed ? FLAG_RSV1 : 0) | opCode,
+            payload.length);
+        out.write(header);
+        out.write(payload);
+        out.flush();
+    }
+
+    private static byte[] frameHeader(int first, int length) {
+        if (length < 126) {
+            return new byte[] {(byte) first, (byte) length};
+        } else if (length <= 0xFFFF) {
+            return new byte[] {(byte) first, 126, (byte) (length >>> 8), (byte) length};
+        } else {
+            return new byte[] {(byte) first, 127, 0, 0, 0, 0, (byte) (length >>> 24),
+                (byte) (length >>> 16), (byte) (length >>> 8), (byte) length};
+        }
+    }
+
+    /**
+     * Wraps the connection input stream so that compressed messages are replaced with equivalent
+     * uncompressed, unfragmented frames. Other frames pass through unchanged apart from being
+     * unmasked.
+     *
+     * @param in connection input stream, positioned after the handshake
+     */
+    public InputStream inflatingStream(InputStream in) {
+        return new InflatingInputStream(in);
+    }
+
+    private class InflatingInputStream extends InputStream {
+        private final InputStream in;
+
+        private byte[] pending = new byte[0];
+        private int pendingPos;
+
+        // opcode of the compressed fragmented message in progress or -1
+        private int compressedOpCode = -1;
+        private final ByteArrayOutputStream fragments = new ByteArrayOutputStream();
+
+        InflatingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        private int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            return b;
+        }
+
+        private void readFully(byte[] buf) throws IOException {
+            int off = 0;
+            while (off < buf.length) {
+                int n = in.read(buf, off, buf.length - off);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                off += n;
+            }
+        }
+
+        private void emit(int first, byte[] payload) {
+            byte[] header = frameHeader(first, payload.length);
+            pending = Arrays.copyOf(header, header.length + payload.length);
+            System.arraycopy(payload, 0, pending, header.length, payload.length);
+            pendingPos = 0;
+        }
+
+        /*
+         * Reads frames until one can be handed to the server.
+         */
+        private void nextFrame() throws IOException {
+            while (pendingPos == pending.length) {
+                int first = readByte();
+                int second = readByte();
+
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = readByte() << 8 | readByte();
+                } else if (length == 127) {
+                    length = 0;
+                    for (int i = 0; i < 8; i++) {
+                        length = length << 8 | readByte();
+                    }
+                }
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("Frame too large");
+                }
+
+                byte[] mask = null;
+                if ((second & 0x80) != 0) {
+                    mask = new byte[4];
+                    readFully(mask);
+                }
+
+                byte[] payload = new byte[(int) length];
+                readFully(payload);
+                if (mask != null) {
+                    for (int i = 0; i < payload.length; i++) {
+                        payload[i] ^= mask[i % 4];
+                    }
+                }
+
+                boolean fin = (first & FLAG_FIN) != 0;
+                int opCode = first & 0x0F;
+                boolean control = (opCode & 0x08) != 0;
+
+                if (!control && (first & FLAG_RSV1) != 0 && opCode != OPCODE_CONTINUATION) {
+                    compressedOpCode = opCode;
+                    fragments.reset();
+                }
+
+                if (control || compressedOpCode == -1) {
+                    emit(first, payload);
+                } else {
+                    fragments.write(payload, 0, payload.length);
+                    if (fin) {
+                        emit(FLAG_FIN | compressedOpCode | (first & 0x30),
+                            decompress(fragments.toByteArray()));
+                        compressedOpCode = -1;
+                        fragments.reset();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            nextFrame();
+            return pending[pendingPos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            nextFrame();
+            int n = Math.min(len, pending.length - pendingPos);
+            System.arraycopy(pending, pendingPos, b, off, n);
+            pendingPos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return pending.length - pendingPos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.acmerobotics.dashboard;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer. Any number of threads may offer items concurrently; items are
+ * intended to be drained by a single consumer. Neither {@link #offer(Object)} nor
+ * {@link #poll()} allocate, so producers on latency-sensitive threads never block or trigger the
+ * garbage collector.
+ *
+ * <p>The slot sequencing follows Dmitry Vyukov's bounded MPMC queue.
+ *
+ * @param <T> item type
+ */
+public final class RingBuffer<T> {
+    /**
+     * Behavior of {@link #offer(Object)} when the buffer is full.
+     */
+    public enum DropPolicy {
+        /**
+         * Evict the oldest queued item to make room for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the new item and keep the queued ones.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Keep the queued items and park the new one in a single overflow slot that is handed
+         * out after the queued items. Each subsequent overflow replaces the parked item, so the
+         * consumer always sees the most recent item.
+         */
+        COALESCE_LATEST
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong head = new AtomicLong(); // next position to read
+    private final AtomicLong tail = new AtomicLong(); // next position to write
+
+    private final AtomicReference<T> overflow = new AtomicReference<>();
+    private final AtomicLong dropCount = new AtomicLong();
+
+    private volatile DropPolicy dropPolicy;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param capacity   maximum number of queued items; rounded up to a power of two
+     * @param dropPolicy policy applied when the buffer is full
+     */
+    public RingBuffer(int capacity, DropPolicy dropPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        mask = size - 1;
+        items = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        this.dropPolicy = dropPolicy;
+    }
+
+    /**
+     * Returns the maximum number of queued items (excluding the overflow slot).
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+
+    public void setDropPolicy(DropPolicy dropPolicy) {
+        this.dropPolicy = dropPolicy;
+    }
+
+    /**
+     * Returns the number of items discarded since creation because the buffer was full.
+     */
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    /**
+     * Queues an item according to the current {@link DropPolicy}.
+     *
+     * @param item item to queue
+     * @return false iff the item itself was discarded
+     */
+    public boolean offer(T item) {
+        switch (dropPolicy) {
+            case DROP_OLDEST:
+                while (!tryOffer(item)) {
+                    if (pollQueue() != null) {
+                        dropCount.incrementAndGet();
+                    }
+                }
+                return true;
+            case COALESCE_LATEST:
+                // once an item is parked, later items must not overtake it through the queue
+                if (overflow.get() != null || !tryOffer(item)) {
+                    if (overflow.getAndSet(item) != null) {
+                        dropCount.incrementAndGet();
+                    }
+                }
+                return true;
+            case DROP_NEWEST:
+            default:
+                if (!tryOffer(item)) {
+                    dropCount.incrementAndGet();
+                    return false;
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Removes and returns the oldest item or null if the buffer is empty.
+     */
+    public T poll() {
+        T item = pollQueue();
+        if (item == null) {
+            item = overflow.getAndSet(null);
+        }
+        return item;
+    }
+
+    /**
+     * Moves all currently queued items into {@code out} in order.
+     *
+     * @return number of items moved
+     */
+    public int drainTo(Collection<? super T> out) {
+        int count = 0;
+        T item;
+        while ((item = poll()) != null) {
+            out.add(item);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Discards all currently queued items. Cleared items are not counted as drops.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // keep polling
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns an estimate of the number of queued items.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        if (size < 0) {
+            size = 0;
+        } else if (size > capacity()) {
+            size = capacity();
+        }
+        return (int) size + (overflow.get() == null ? 0 : 1);
+    }
+
+    private boolean tryOffer(T item) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private T pollQueue() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T item = items.getAndSet(index, null);
+                    sequences.set(index, pos + mask + 1);
+                    return item;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+}
@@ -1,7 +1,24 @@
 package com.acmerobotics.dashboard;
 
+import com.acmerobotics.dashboard.message.EncodedMessage;
 import com.acmerobotics.dashboard.message.Message;
 
 public interface SendFun {
     void send(Message message);
+
+    /**
+     * Sends a message that has already been encoded with the client's codec. Implementations must
+     * write the payload as-is: it is shared with other recipients, and the source message must
+     * not be re-encoded since telemetry messages may reference pooled packets that are reused
+     * once encoding finishes. A failed write must be reported by throwing an unchecked exception,
+     * which disconnects the client.
+     */
+    void send(EncodedMessage message);
+
+    /**
+     * Closes the underlying connection. Called when the client cannot keep up with the outbound
+     * message rate or a write failed; the client receives nothing afterwards, so implementations
+     * must actually close the connection.
+     */
+    void close();
 }
@@ -0,0 +1,21 @@
+package com.acmerobotics.dashboard.config;
+
+/**
+ * Value provider that can read primitive values without boxing them.
+ *
+ * @param <T> type of the value
+ */
+public interface PrimitiveValueProvider<T> extends ValueProvider<T> {
+    /**
+     * Returns true if the value is primitive and {@link #getBits()} is supported.
+     */
+    boolean isPrimitive();
+
+    /**
+     * Returns the bits of the primitive value: the raw bits of floating point values, the value
+     * of integral values, and 0 or 1 for booleans. Equal bits mean equal values.
+     *
+     * @throws UnsupportedOperationException if the value isn't primitive
+     */
+    long getBits();
+}
@@ -0,0 +1,263 @@
+package com.acmerobotics.dashboard.config.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Type-specialized getter and setter for a field or array element. Primitive accessors read and
+ * write through the primitive reflection methods (or direct array stores), so reading the bits of
+ * a primitive never boxes.
+ */
+abstract class Accessor {
+    private static final Map<Field, Accessor> FIELD_ACCESSORS = new ConcurrentHashMap<>();
+
+    abstract Object get(Object target) throws IllegalAccessException;
+
+    abstract void set(Object target, Object value) throws IllegalAccessException;
+
+    boolean isPrimitive() {
+        return false;
+    }
+
+    long getBits(Object target) throws IllegalAccessException {
+        throw new UnsupportedOperationException();
+    }
+
+    private abstract static class PrimitiveAccessor extends Accessor {
+        @Override
+        boolean isPrimitive() {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the accessor for a field, reusing accessors created for the same field.
+     */
+    static Accessor forField(Field field) {
+        Accessor accessor = FIELD_ACCESSORS.get(field);
+        if (accessor == null) {
+            accessor = createFieldAccessor(field);
+            FIELD_ACCESSORS.put(field, accessor);
+        }
+        return accessor;
+    }
+
+    private static Accessor createFieldAccessor(final Field field) {
+        // NOTE: an accessible final instance field would become writable, so final fields keep
+        // the access check and stay read-only
+        if (!Modifier.isFinal(field.getModifiers())) {
+            try {
+                // skips the access check on every call
+                field.setAccessible(true);
+            } catch (SecurityException ignored) {
+
+            }
+        }
+
+        Class<?> type = field.getType();
+        if (type == double.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.getDouble(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.setDouble(target, ((Number) value).doubleValue());
+                }
+
+                @Override
+                long getBits(Object target) throws IllegalAccessException {
+                    return Double.doubleToRawLongBits(field.getDouble(target));
+                }
+            };
+        } else if (type == float.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.getFloat(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.setFloat(target, ((Number) value).floatValue());
+                }
+
+                @Override
+                long getBits(Object target) throws IllegalAccessException {
+                    return Float.floatToRawIntBits(field.getFloat(target));
+                }
+            };
+        } else if (type == int.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.getInt(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.setInt(target, ((Number) value).intValue());
+                }
+
+                @Override
+                long getBits(Object target) throws IllegalAccessException {
+                    return field.getInt(target);
+                }
+            };
+        } else if (type == long.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.getLong(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.setLong(target, ((Number) value).longValue());
+                }
+
+                @Override
+                long getBits(Object target) throws IllegalAccessException {
+                    return field.getLong(target);
+                }
+            };
+        } else if (type == boolean.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.getBoolean(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.setBoolean(target, (Boolean) value);
+                }
+
+                @Override
+                long getBits(Object target) throws IllegalAccessException {
+                    return field.getBoolean(target) ? 1 : 0;
+                }
+            };
+        } else {
+            return new Accessor() {
+                @Override
+                Object get(Object target) throws IllegalAccessException {
+                    return field.get(target);
+                }
+
+                @Override
+                void set(Object target, Object value) throws IllegalAccessException {
+                    field.set(target, value);
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns an accessor for an element of arrays with the given component type.
+     */
+    static Accessor forArrayElement(Class<?> componentType, final int index) {
+        if (componentType == double.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) {
+                    return ((double[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((double[]) target)[index] = ((Number) value).doubleValue();
+                }
+
+                @Override
+                long getBits(Object target) {
+                    return Double.doubleToRawLongBits(((double[]) target)[index]);
+                }
+            };
+        } else if (componentType == float.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) {
+                    return ((float[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((float[]) target)[index] = ((Number) value).floatValue();
+                }
+
+                @Override
+                long getBits(Object target) {
+                    return Float.floatToRawIntBits(((float[]) target)[index]);
+                }
+            };
+        } else if (componentType == int.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) {
+                    return ((int[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((int[]) target)[index] = ((Number) value).intValue();
+                }
+
+                @Override
+                long getBits(Object target) {
+                    return ((int[]) target)[index];
+                }
+            };
+        } else if (componentType == long.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) {
+                    return ((long[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((long[]) target)[index] = ((Number) value).longValue();
+                }
+
+                @Override
+                long getBits(Object target) {
+                    return ((long[]) target)[index];
+                }
+            };
+        } else if (componentType == boolean.class) {
+            return new PrimitiveAccessor() {
+                @Override
+                Object get(Object target) {
+                    return ((boolean[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((boolean[]) target)[index] = (Boolean) value;
+                }
+
+                @Override
+                long getBits(Object target) {
+                    return ((boolean[]) target)[index] ? 1 : 0;
+                }
+            };
+        } else {
+            return new Accessor() {
+                @Override
+                Object get(Object target) {
+                    return ((Object[]) target)[index];
+                }
+
+                @Override
+                void set(Object target, Object value) {
+                    ((Object[]) target)[index] = value;
+                }
+            };
+        }
+    }
+}
@@ -1,25 +1,43 @@
 package com.acmerobotics.dashboard.config.reflection;
 
-import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.PrimitiveValueProvider;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 
-public class ArrayProvider<T> implements ValueProvider<T> {
-    private final Field field;
+public class ArrayProvider<T> implements PrimitiveValueProvider<T> {
     private final Object parent;
     private final int[] indices;
+    private final Accessor arrayAccessor;
+    private final Accessor elementAccessor;
 
     public ArrayProvider(Field field, Object parent, int... indices) {
-        this.field = field;
         this.parent = parent;
         this.indices = indices;
+
+        Class<?> elementType = field.getType();
+        for (int i = 0; i < indices.length; i++) {
+            elementType = elementType.getComponentType();
+        }
+        arrayAccessor = Accessor.forField(field);
+        elementAccessor = Accessor.forArrayElement(elementType, indices[indices.length - 1]);
+    }
+
+    /*
+     * Returns the innermost array containing the element.
+     */
+    private Object getArray() throws IllegalAccessException {
+        Object array = arrayAccessor.get(parent);
+        for (int i = 0; i < indices.length - 1; i++) {
+            array = ((Object[]) array)[indices[i]];
+        }
+        return array;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public T get() {
         try {
-            return (T) getArrayRecursive(field.get(parent), indices);
+            return (T) elementAccessor.get(getArray());
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         } catch (ArrayIndexOutOfBoundsException e) {
@@ -30,13 +48,33 @@ public class ArrayProvider<T> implements ValueProvider<T> {
     @Override
     public void set(T value) {
         try {
-            setArrayRecursive(field.get(parent), value, indices);
+            elementAccessor.set(getArray(), value);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         } catch (ArrayIndexOutOfBoundsException ignored) {
         }
     }
 
+    @Override
+    public boolean isPrimitive() {
+        return elementAccessor.isPrimitive();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns 0 if the element no longer exists.
+     */
+    @Override
+    public long getBits() {
+        try {
+            return elementAccessor.getBits(getArray());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
 
     public static Object getArrayRecursive(Object object, int[] indices)
         throws ArrayIndexOutOfBoundsException, IllegalAccessException {
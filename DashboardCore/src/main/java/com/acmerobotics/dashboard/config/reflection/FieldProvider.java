@@ -1,6 +1,6 @@
 package com.acmerobotics.dashboard.config.reflection;
 
-import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.PrimitiveValueProvider;
 import java.lang.reflect.Field;
 
 /**
@@ -8,20 +8,22 @@ import java.lang.reflect.Field;
  *
  * @param <T> type of the class field
  */
-public class FieldProvider<T> implements ValueProvider<T> {
+public class FieldProvider<T> implements PrimitiveValueProvider<T> {
     private final Field field;
     private final Object parent;
+    private final Accessor accessor;
 
     public FieldProvider(Field field, Object parent) {
         this.field = field;
         this.parent = parent;
+        this.accessor = Accessor.forField(field);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public T get() {
         try {
-            return (T) field.get(parent);
+            return (T) accessor.get(parent);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         }
@@ -30,7 +32,21 @@ public class FieldProvider<T> implements ValueProvider<T> {
     @Override
     public void set(T value) {
         try {
-            field.set(parent, value);
+            accessor.set(parent, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return accessor.isPrimitive();
+    }
+
+    @Override
+    public long getBits() {
+        try {
+            return accessor.getBits(parent);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         }
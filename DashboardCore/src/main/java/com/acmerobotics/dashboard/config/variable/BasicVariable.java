@@ -1,11 +1,18 @@
 package com.acmerobotics.dashboard.config.variable;
 
+import com.acmerobotics.dashboard.config.PrimitiveValueProvider;
 import com.acmerobotics.dashboard.config.ValueProvider;
+import com.google.gson.JsonElement;
 
 public class BasicVariable<T> extends ConfigVariable<T> {
     private VariableType type;
     private ValueProvider<T> provider;
 
+    // NOTE: serialization cache managed by ConfigVariableSerializer
+    JsonElement cachedJson;
+    private long cachedBits;
+    private Object cachedValue;
+
     private static <T> VariableType inferType(ValueProvider<T> provider) {
         Class<?> providerClass = provider.get().getClass();
         return VariableType.fromClass(providerClass);
@@ -34,4 +41,41 @@ public class BasicVariable<T> extends ConfigVariable<T> {
     public void update(ConfigVariable<T> newVariable) {
         provider.set(newVariable.getValue());
     }
+
+    private boolean isPrimitive() {
+        return provider instanceof PrimitiveValueProvider
+            && ((PrimitiveValueProvider<T>) provider).isPrimitive();
+    }
+
+    /**
+     * Returns true if the value differs from the one last serialized or was never serialized.
+     * Values of primitive providers are compared without boxing.
+     */
+    public boolean isChangedSinceSerialization() {
+        return !isCacheValid();
+    }
+
+    /*
+     * Returns true if the value still matches the one recorded for the cached serialization.
+     */
+    boolean isCacheValid() {
+        if (cachedJson == null) {
+            return false;
+        }
+
+        if (isPrimitive()) {
+            return ((PrimitiveValueProvider<T>) provider).getBits() == cachedBits;
+        }
+
+        Object value = provider.get();
+        return value == null ? cachedValue == null : value.equals(cachedValue);
+    }
+
+    void recordCachedValue() {
+        if (isPrimitive()) {
+            cachedBits = ((PrimitiveValueProvider<T>) provider).getBits();
+        } else {
+            cachedValue = provider.get();
+        }
+    }
 }
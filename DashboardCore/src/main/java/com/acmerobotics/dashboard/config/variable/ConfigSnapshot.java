@@ -0,0 +1,145 @@
+package com.acmerobotics.dashboard.config.variable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized leaf variables of a config tree, keyed by path. Updating the snapshot to a newer
+ * serialization of the tree yields the leaves that were added, changed, or removed in between.
+ *
+ * <p>The snapshot remembers the serialized tree it was last updated from. Since
+ * {@link ConfigVariableSerializer} reuses the fragments of unchanged subtrees, an update skips
+ * every fragment identical to the previous one and only revisits the branches that changed. The
+ * snapshot is modified in place and must not be used concurrently.
+ */
+public final class ConfigSnapshot {
+    private final Map<List<String>, JsonElement> leaves = new HashMap<>();
+    // serialized tree the leaves were last updated from
+    private JsonElement tree;
+
+    /**
+     * Differences found by {@link #update(JsonElement)}.
+     */
+    public static final class Diff {
+        private final List<List<String>> removed = new ArrayList<>();
+        private final Map<List<String>, JsonElement> changed = new HashMap<>();
+
+        /**
+         * Returns the paths of the leaves that no longer exist.
+         */
+        public List<List<String>> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Returns the leaves that were added or changed by path.
+         */
+        public Map<List<String>, JsonElement> getChanged() {
+            return changed;
+        }
+
+        public boolean isEmpty() {
+            return removed.isEmpty() && changed.isEmpty();
+        }
+    }
+
+    /**
+     * Returns a snapshot without any variables.
+     */
+    public static ConfigSnapshot empty() {
+        return new ConfigSnapshot();
+    }
+
+    /**
+     * Returns the serialized leaf at a path or null if there is none.
+     */
+    public JsonElement get(List<String> path) {
+        return leaves.get(path);
+    }
+
+    /**
+     * Updates the snapshot to a serialized config tree and returns the differences. The fragments
+     * of the tree must not be modified afterwards.
+     *
+     * @param tree serialized config root from {@link ConfigVariableSerializer#toJsonTree}
+     */
+    public Diff update(JsonElement tree) {
+        Diff diff = new Diff();
+        diffNode(this.tree, tree, new ArrayList<String>(), true, diff);
+        this.tree = tree;
+        return diff;
+    }
+
+    /**
+     * Adds or replaces leaves in place, e.g. after publishing values sampled outside of
+     * {@link #update(JsonElement)}.
+     *
+     * @param changed serialized leaves by path
+     */
+    public void putLeaves(Map<List<String>, JsonElement> changed) {
+        leaves.putAll(changed);
+    }
+
+    /*
+     * Compares the fragments of one path, either of which may be null if the node is absent.
+     */
+    private void diffNode(JsonElement prev, JsonElement cur, List<String> path, boolean root,
+                          Diff diff) {
+        if (prev == cur) {
+            return;
+        }
+
+        JsonObject prevChildren = children(prev, root);
+        JsonObject curChildren = children(cur, root);
+        if (curChildren != null) {
+            for (Map.Entry<String, JsonElement> entry : curChildren.entrySet()) {
+                path.add(entry.getKey());
+                diffNode(prevChildren == null ? null : prevChildren.get(entry.getKey()),
+                    entry.getValue(), path, false, diff);
+                path.remove(path.size() - 1);
+            }
+        }
+        if (prevChildren != null) {
+            for (Map.Entry<String, JsonElement> entry : prevChildren.entrySet()) {
+                if (curChildren == null || !curChildren.has(entry.getKey())) {
+                    path.add(entry.getKey());
+                    diffNode(entry.getValue(), null, path, false, diff);
+                    path.remove(path.size() - 1);
+                }
+            }
+        }
+
+        if (cur != null && curChildren == null) {
+            if (!cur.equals(leaves.get(path))) {
+                List<String> leafPath = Collections.unmodifiableList(new ArrayList<>(path));
+                leaves.put(leafPath, cur);
+                diff.changed.put(leafPath, cur);
+            }
+        } else if (prev != null && prevChildren == null) {
+            List<String> leafPath = Collections.unmodifiableList(new ArrayList<>(path));
+            leaves.remove(leafPath);
+            diff.removed.add(leafPath);
+        }
+    }
+
+    /*
+     * Returns the children of a serialized node or null if it is a leaf. Nested objects are
+     * leaves while empty or null so that they still appear in the tree; the root never is.
+     */
+    private static JsonObject children(JsonElement node, boolean root) {
+        if (node == null) {
+            return null;
+        }
+        JsonElement value = node.getAsJsonObject().get(ConfigVariable.VALUE_KEY);
+        if (value == null || !value.isJsonObject()) {
+            return root ? new JsonObject() : null;
+        }
+        JsonObject children = value.getAsJsonObject();
+        return root || children.size() > 0 ? children : null;
+    }
+}
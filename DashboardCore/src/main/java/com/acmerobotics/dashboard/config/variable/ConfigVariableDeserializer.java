@@ -46,8 +46,8 @@ public class ConfigVariableDeserializer implements JsonDeserializer<ConfigVariab
                 }
 
                 try {
-                    Class<?> enumClass = Class.forName(
-                        obj.get(ConfigVariable.ENUM_CLASS_KEY).getAsString());
+                    Class<?> enumClass = EnumMetadata.forName(
+                        obj.get(ConfigVariable.ENUM_CLASS_KEY).getAsString()).getEnumClass();
                     return new BasicVariable<>(varType, new ConstantProvider<>(
                         jsonDeserializationContext.deserialize(
                             obj.get(ConfigVariable.VALUE_KEY), enumClass)));
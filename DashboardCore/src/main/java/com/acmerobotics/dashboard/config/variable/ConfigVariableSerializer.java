@@ -1,18 +1,117 @@
 package com.acmerobotics.dashboard.config.variable;
 
-import com.google.gson.JsonArray;
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import java.lang.reflect.Type;
-import java.lang.reflect.Field;
+import java.util.Map;
 
+/**
+ * Serializer for config variables. The serialized form of each {@link BasicVariable} and
+ * {@link CustomVariable} is cached on the variable, so serializing a tree again only rebuilds the
+ * branches containing a changed value or structure; other subtrees are reused as is. The returned
+ * elements are shared with later serializations and must not be modified. Note that
+ * {@code Gson.toJsonTree()} copies the result; use {@link #toJsonTree(ConfigVariable)} to get the
+ * cached fragment itself. Text output is written straight from the cache.
+ *
+ * <p>Trees must not be serialized concurrently.
+ */
 public class ConfigVariableSerializer implements JsonSerializer<ConfigVariable<?>> {
+    private static final ConfigVariableSerializer INSTANCE = new ConfigVariableSerializer();
+
+    // NOTE: variable types and values are plain enums, strings, and primitives
+    private static final Gson VALUE_GSON = new Gson();
+    private static final JsonSerializationContext VALUE_CONTEXT = new JsonSerializationContext() {
+        @Override
+        public JsonElement serialize(Object src) {
+            return VALUE_GSON.toJsonTree(src);
+        }
+
+        @Override
+        public JsonElement serialize(Object src, Type typeOfSrc) {
+            return VALUE_GSON.toJsonTree(src, typeOfSrc);
+        }
+    };
+
+    /**
+     * Serializes a variable, returning the cached fragments of unchanged subtrees themselves
+     * instead of copies. The result must not be modified.
+     *
+     * @param configVariable variable to serialize
+     */
+    public static JsonElement toJsonTree(ConfigVariable<?> configVariable) {
+        return INSTANCE.serialize(configVariable, ConfigVariable.class, VALUE_CONTEXT);
+    }
+
     @Override
     public JsonElement serialize(ConfigVariable<?> configVariable, Type type,
                                  JsonSerializationContext jsonSerializationContext) {
+        if (configVariable instanceof CustomVariable) {
+            return serializeCustom((CustomVariable) configVariable, jsonSerializationContext);
+        } else if (configVariable instanceof BasicVariable) {
+            BasicVariable<?> basicVariable = (BasicVariable<?>) configVariable;
+            if (basicVariable.isCacheValid()) {
+                return basicVariable.cachedJson;
+            }
+            // the value is recorded first so that concurrent changes invalidate the result
+            basicVariable.recordCachedValue();
+            basicVariable.cachedJson = serializeUncached(configVariable, jsonSerializationContext);
+            return basicVariable.cachedJson;
+        }
+        return serializeUncached(configVariable, jsonSerializationContext);
+    }
+
+    private JsonElement serializeCustom(CustomVariable customVariable,
+                                        JsonSerializationContext jsonSerializationContext) {
+        if (customVariable.getValue() == null) {
+            if (customVariable.cachedJson == null) {
+                customVariable.cachedJson =
+                    (JsonObject) serializeUncached(customVariable, jsonSerializationContext);
+            }
+            return customVariable.cachedJson;
+        }
+
+        JsonObject cachedValue = customVariable.cachedJson == null ? null
+            : customVariable.cachedJson.getAsJsonObject(ConfigVariable.VALUE_KEY);
+        // structural changes show up as a different size or a child element missing by identity
+        boolean changed = cachedValue == null || cachedValue.size() != customVariable.size();
+
+        int i = 0;
+        String[] names = new String[customVariable.size()];
+        JsonElement[] children = new JsonElement[names.length];
+        for (Map.Entry<String, ConfigVariable> entry : customVariable.entrySet()) {
+            names[i] = entry.getKey();
+            // the context would hand back a copy, so children are serialized here directly
+            children[i] = entry.getValue() == null ? JsonNull.INSTANCE
+                : serialize(entry.getValue(), ConfigVariable.class, jsonSerializationContext);
+            // fragments are reused when unchanged, so identity tells whether a subtree changed
+            changed |= cachedValue != null && cachedValue.get(names[i]) != children[i];
+            i++;
+        }
+
+        if (!changed) {
+            return customVariable.cachedJson;
+        }
+
+        JsonObject value = new JsonObject();
+        for (i = 0; i < names.length; i++) {
+            value.add(names[i], children[i]);
+        }
+
+        JsonObject obj = new JsonObject();
+        obj.add(ConfigVariable.TYPE_KEY,
+            jsonSerializationContext.serialize(customVariable.getType()));
+        obj.add(ConfigVariable.VALUE_KEY, value);
+        customVariable.cachedJson = obj;
+        return obj;
+    }
+
+    private JsonElement serializeUncached(ConfigVariable<?> configVariable,
+                                          JsonSerializationContext jsonSerializationContext) {
         Object value = configVariable.getValue();
 
         JsonObject obj = new JsonObject();
@@ -32,24 +131,9 @@ public class ConfigVariableSerializer implements JsonSerializer<ConfigVariable<?
         }
 
         if (configVariable.getType() == VariableType.ENUM) {
-            obj.add(ConfigVariable.ENUM_CLASS_KEY, new JsonPrimitive(
-                value.getClass().getName()));
-            JsonArray values = new JsonArray();
-            for (Object o : value.getClass().getEnumConstants()) {
-                try {
-                    Enum<?> e = (Enum<?>) o;
-                    String enumName = e.name();
-                    Field f = value.getClass().getField(enumName);
-                    if (f.isAnnotationPresent(Deprecated.class)) {
-                        continue;
-                    }
-                } catch (NoSuchFieldException | SecurityException ignored) {
-                    
-                }
-
-                values.add(o.toString());
-            }
-            obj.add(ConfigVariable.ENUM_VALUES_KEY, values);
+            EnumMetadata metadata = EnumMetadata.forValue((Enum<?>) value);
+            obj.add(ConfigVariable.ENUM_CLASS_KEY, metadata.getClassName());
+            obj.add(ConfigVariable.ENUM_VALUES_KEY, metadata.getValues());
         }
 
         return obj;
@@ -1,5 +1,7 @@
 package com.acmerobotics.dashboard.config.variable;
 
+import com.acmerobotics.dashboard.config.ConstantProvider;
+import com.google.gson.JsonObject;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +12,9 @@ import java.util.Set;
 public class CustomVariable extends ConfigVariable<Object> {
     private Map<String, ConfigVariable> variables;
 
+    // NOTE: serialization cache managed by ConfigVariableSerializer
+    JsonObject cachedJson;
+
     public CustomVariable(Map<String, ConfigVariable> variables) {
         this.variables = variables;
     }
@@ -41,6 +46,29 @@ public class CustomVariable extends ConfigVariable<Object> {
         return variables.entrySet();
     }
 
+    /**
+     * Returns a copy of the tree holding the current values of its variables. The copy doesn't
+     * share any providers with the original, so it is unaffected by later changes.
+     */
+    @SuppressWarnings("unchecked")
+    public CustomVariable snapshot() {
+        if (variables == null) {
+            return new CustomVariable(null);
+        }
+
+        CustomVariable copy = new CustomVariable(new HashMap<>(variables.size() * 2));
+        for (Map.Entry<String, ConfigVariable> entry : variables.entrySet()) {
+            ConfigVariable child = entry.getValue();
+            if (child instanceof CustomVariable) {
+                copy.variables.put(entry.getKey(), ((CustomVariable) child).snapshot());
+            } else {
+                copy.variables.put(entry.getKey(),
+                    new BasicVariable<>(child.getType(), new ConstantProvider<>(child.getValue())));
+            }
+        }
+        return copy;
+    }
+
     @Override
     public VariableType getType() {
         return VariableType.CUSTOM;
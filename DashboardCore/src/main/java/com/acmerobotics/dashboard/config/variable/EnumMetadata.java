@@ -0,0 +1,81 @@
+package com.acmerobotics.dashboard.config.variable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Serialized description of an enum config type, computed once per class and shared by
+ * ConfigVariableSerializer and ConfigVariableDeserializer. The JSON elements are shared between
+ * all serialized variables of the type and must not be modified.
+ */
+final class EnumMetadata {
+    private static final Map<Class<?>, EnumMetadata> BY_CLASS = new ConcurrentHashMap<>();
+    private static final Map<String, EnumMetadata> BY_NAME = new ConcurrentHashMap<>();
+
+    private final Class<?> enumClass;
+    private final JsonPrimitive className;
+    // names of the constants that aren't deprecated
+    private final JsonArray values;
+
+    private EnumMetadata(Class<?> enumClass) {
+        this.enumClass = enumClass;
+        className = new JsonPrimitive(enumClass.getName());
+
+        values = new JsonArray();
+        for (Object o : enumClass.getEnumConstants()) {
+            try {
+                if (enumClass.getField(((Enum<?>) o).name())
+                    .isAnnotationPresent(Deprecated.class)) {
+                    continue;
+                }
+            } catch (NoSuchFieldException | SecurityException ignored) {
+
+            }
+
+            values.add(o.toString());
+        }
+    }
+
+    /*
+     * Returns the metadata of the enum a constant belongs to. Constants with bodies are
+     * subclasses of their enum, so the declaring class is used rather than getClass().
+     */
+    static EnumMetadata forValue(Enum<?> value) {
+        return forClass(value.getDeclaringClass());
+    }
+
+    static EnumMetadata forClass(Class<?> enumClass) {
+        EnumMetadata metadata = BY_CLASS.get(enumClass);
+        if (metadata == null) {
+            metadata = new EnumMetadata(enumClass);
+            BY_CLASS.put(enumClass, metadata);
+            BY_NAME.put(enumClass.getName(), metadata);
+        }
+        return metadata;
+    }
+
+    /*
+     * Returns the metadata of an enum by binary name, loading the class if it hasn't been seen.
+     */
+    static EnumMetadata forName(String className) throws ClassNotFoundException {
+        EnumMetadata metadata = BY_NAME.get(className);
+        if (metadata == null) {
+            metadata = forClass(Class.forName(className));
+        }
+        return metadata;
+    }
+
+    Class<?> getEnumClass() {
+        return enumClass;
+    }
+
+    JsonPrimitive getClassName() {
+        return className;
+    }
+
+    JsonArray getValues() {
+        return values;
+    }
+}
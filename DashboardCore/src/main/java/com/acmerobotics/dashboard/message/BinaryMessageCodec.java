@@ -0,0 +1,483 @@
+package com.acmerobotics.dashboard.message;
+
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary codec for the high-volume messages (telemetry, canvas operations, and camera
+ * frames). Other messages are rare and keep their JSON text encoding.
+ *
+ * <p>Binary frames start with the format version byte ({@value #VERSION}) followed by a single
+ * tagged value holding the message object. Objects are encoded as maps keyed by their JSON field
+ * names, so a decoded frame has the same shape as the JSON message. Values are:
+ * <ul>
+ *   <li>{@code NULL}, {@code FALSE}, {@code TRUE}: no payload</li>
+ *   <li>{@code VARINT}: zigzag LEB128 integer</li>
+ *   <li>{@code FLOAT32}, {@code FLOAT64}: little-endian IEEE 754</li>
+ *   <li>{@code STRING}: varint byte length and UTF-8 bytes</li>
+ *   <li>{@code KEY_DEF}: like {@code STRING}, additionally appended to the frame's key table</li>
+ *   <li>{@code KEY_REF}: varint index into the frame's key table</li>
+ *   <li>{@code FLOAT32_ARRAY}, {@code FLOAT64_ARRAY}: varint count and little-endian values</li>
+ *   <li>{@code BYTES}: varint length and raw bytes</li>
+ *   <li>{@code LIST}: varint count and tagged values</li>
+ *   <li>{@code MAP}: varint count and pairs of key ({@code KEY_DEF} or {@code KEY_REF}) and
+ *   tagged value</li>
+ * </ul>
+ * Camera frames are maps of {@code type}, {@code channel}, {@code frameId}, {@code timestamp},
+ * {@code width}, and {@code height} followed by the raw JPEG as {@code imageBytes}, so the header
+ * takes about 100 bytes.
+ * Field names, map keys, and enum constants go through the key table, so repeated names such as
+ * canvas operation types cost a byte or two after their first occurrence. Double arrays are sent
+ * as float32 when that is lossless. Telemetry values stored as primitives are sent as numbers and
+ * booleans instead of strings.
+ */
+public class BinaryMessageCodec implements MessageCodec {
+    public static final String SUBPROTOCOL = "dash-binary-v1";
+
+    public static final int VERSION = 1;
+
+    public static final int NULL = 0;
+    public static final int FALSE = 1;
+    public static final int TRUE = 2;
+    public static final int VARINT = 3;
+    public static final int FLOAT32 = 4;
+    public static final int FLOAT64 = 5;
+    public static final int STRING = 6;
+    public static final int KEY_DEF = 7;
+    public static final int KEY_REF = 8;
+    public static final int FLOAT32_ARRAY = 9;
+    public static final int FLOAT64_ARRAY = 10;
+    public static final int BYTES = 11;
+    public static final int LIST = 12;
+    public static final int MAP = 13;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final MessageCodec fallback;
+
+    private final Map<Class<?>, Field[]> fieldCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Enum<?>, String>> enumNameCache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a binary codec.
+     *
+     * @param gson JSON serializer for messages without a binary encoding
+     */
+    public BinaryMessageCodec(Gson gson) {
+        fallback = new JsonMessageCodec(gson);
+    }
+
+    @Override
+    public String getSubprotocol() {
+        return SUBPROTOCOL;
+    }
+
+    /**
+     * Returns true if the message is encoded as a binary frame.
+     */
+    public static boolean hasBinaryEncoding(Message message) {
+        switch (message.getType()) {
+            case RECEIVE_TELEMETRY:
+            case RECEIVE_TELEMETRY_DELTA:
+            case RECEIVE_IMAGE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public EncodedMessage encode(Message message) {
+        if (!hasBinaryEncoding(message)) {
+            return fallback.encode(message);
+        }
+
+        Encoder encoder = new Encoder();
+        encoder.out.writeByte(VERSION);
+        if (message instanceof ReceiveImage && ((ReceiveImage) message).getImageBytes() != null) {
+            ReceiveImage frame = (ReceiveImage) message;
+            byte[] image = frame.getImageBytes();
+            encoder.out.writeByte(MAP);
+            encoder.out.writeVarint(7);
+            encoder.writeKey("type");
+            encoder.writeValue(message.getType());
+            encoder.visitString("channel", frame.getChannel());
+            encoder.visitLong("frameId", frame.getFrameId());
+            encoder.visitLong("timestamp", frame.getTimestamp());
+            encoder.visitLong("width", frame.getWidth());
+            encoder.visitLong("height", frame.getHeight());
+            // the JPEG comes last so it can be sliced from the frame without copying
+            encoder.writeKey("imageBytes");
+            encoder.out.writeByte(BYTES);
+            encoder.out.writeVarint(image.length);
+            encoder.out.writeBytes(image, 0, image.length);
+        } else {
+            encoder.writeValue(message);
+        }
+
+        return new EncodedMessage(message, encoder.out.toByteArray(), true);
+    }
+
+    private Field[] fieldsOf(Class<?> klass) {
+        Field[] fields = fieldCache.get(klass);
+        if (fields == null) {
+            List<Field> list = new ArrayList<>();
+            for (Class<?> c = klass; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    int mods = f.getModifiers();
+                    if (Modifier.isStatic(mods) || Modifier.isTransient(mods) || f.isSynthetic()) {
+                        continue;
+                    }
+                    f.setAccessible(true);
+                    list.add(f);
+                }
+            }
+            fields = list.toArray(new Field[0]);
+            fieldCache.put(klass, fields);
+        }
+        return fields;
+    }
+
+    private String enumName(Enum<?> value) {
+        Class<?> enumClass = value.getDeclaringClass();
+        Map<Enum<?>, String> names = enumNameCache.get(enumClass);
+        if (names == null) {
+            names = new HashMap<>();
+            for (Object constant : enumClass.getEnumConstants()) {
+                Enum<?> e = (Enum<?>) constant;
+                String name = e.name();
+                try {
+                    SerializedName annotation =
+                        enumClass.getField(name).getAnnotation(SerializedName.class);
+                    if (annotation != null) {
+                        name = annotation.value();
+                    }
+                } catch (NoSuchFieldException ignored) {
+
+                }
+                names.put(e, name);
+            }
+            enumNameCache.put(enumClass, names);
+        }
+        return names.get(value);
+    }
+
+    private static String fieldName(Field f) {
+        SerializedName annotation = f.getAnnotation(SerializedName.class);
+        return annotation == null ? f.getName() : annotation.value();
+    }
+
+    private class Encoder implements TelemetryPacket.DataVisitor {
+        final BinaryWriter out = new BinaryWriter(256);
+        final Map<String, Integer> keys = new HashMap<>();
+
+        @Override
+        public void visitString(String key, String value) {
+            writeKey(key);
+            out.writeByte(STRING);
+            out.writeString(value);
+        }
+
+        @Override
+        public void visitDouble(String key, double value) {
+            writeKey(key);
+            writeDouble(value);
+        }
+
+        @Override
+        public void visitLong(String key, long value) {
+            writeKey(key);
+            out.writeByte(VARINT);
+            out.writeSignedVarint(value);
+        }
+
+        @Override
+        public void visitBoolean(String key, boolean value) {
+            writeKey(key);
+            out.writeByte(value ? TRUE : FALSE);
+        }
+
+        void writeKey(String key) {
+            Integer index = keys.get(key);
+            if (index == null) {
+                keys.put(key, keys.size());
+                out.writeByte(KEY_DEF);
+                out.writeString(key);
+            } else {
+                out.writeByte(KEY_REF);
+                out.writeVarint(index);
+            }
+        }
+
+        void writeDouble(double d) {
+            float f = (float) d;
+            if (f == d || Double.isNaN(d)) {
+                out.writeByte(FLOAT32);
+                out.writeFloat32(f);
+            } else {
+                out.writeByte(FLOAT64);
+                out.writeFloat64(d);
+            }
+        }
+
+        void writeDoubleArray(double[] values) {
+            boolean lossless = true;
+            for (double d : values) {
+                if ((float) d != d && !Double.isNaN(d)) {
+                    lossless = false;
+                    break;
+                }
+            }
+
+            out.writeByte(lossless ? FLOAT32_ARRAY : FLOAT64_ARRAY);
+            out.writeVarint(values.length);
+            for (double d : values) {
+                if (lossless) {
+                    out.writeFloat32((float) d);
+                } else {
+                    out.writeFloat64(d);
+                }
+            }
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                out.writeString((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Double || value instanceof Float) {
+                writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                out.writeByte(VARINT);
+                out.writeSignedVarint(((Number) value).longValue());
+            } else if (value instanceof Enum) {
+                writeKey(enumName((Enum<?>) value));
+            } else if (value instanceof double[]) {
+                writeDoubleArray((double[]) value);
+            } else if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+                out.writeByte(BYTES);
+                out.writeVarint(bytes.length);
+                out.writeBytes(bytes, 0, bytes.length);
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                out.writeByte(LIST);
+                out.writeVarint(length);
+                for (int i = 0; i < length; i++) {
+                    writeValue(Array.get(value, i));
+                }
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                out.writeByte(LIST);
+                out.writeVarint(collection.size());
+                for (Object o : collection) {
+                    writeValue(o);
+                }
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeByte(MAP);
+                out.writeVarint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeKey(String.valueOf(entry.getKey()));
+                    writeValue(entry.getValue());
+                }
+            } else {
+                writeObject(value);
+            }
+        }
+
+        void writeObject(Object value) {
+            Field[] fields = fieldsOf(value.getClass());
+            out.writeByte(MAP);
+            out.writeVarint(fields.length);
+            try {
+                for (Field f : fields) {
+                    writeKey(fieldName(f));
+
+                    // read primitives without boxing
+                    Class<?> type = f.getType();
+                    if (type == double.class) {
+                        writeDouble(f.getDouble(value));
+                    } else if (type == float.class) {
+                        writeDouble(f.getFloat(value));
+                    } else if (type == int.class) {
+                        out.writeByte(VARINT);
+                        out.writeSignedVarint(f.getInt(value));
+                    } else if (type == long.class) {
+                        out.writeByte(VARINT);
+                        out.writeSignedVarint(f.getLong(value));
+                    } else if (type == boolean.class) {
+                        out.writeByte(f.getBoolean(value) ? TRUE : FALSE);
+                    } else if (value instanceof TelemetryPacket
+                        && f.getDeclaringClass() == TelemetryPacket.class
+                        && f.getName().equals("data")) {
+                        TelemetryPacket packet = (TelemetryPacket) value;
+                        out.writeByte(MAP);
+                        out.writeVarint(packet.getDataSize());
+                        packet.visitData(this);
+                    } else {
+                        writeValue(f.get(value));
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Decodes a binary frame into plain Java values ({@code null}, {@link Boolean}, {@link Long},
+     * {@link Float}, {@link Double}, {@link String}, {@code float[]}, {@code double[]},
+     * {@code byte[]}, {@link List}, and {@link Map}). This is the reference for client
+     * implementations of the format.
+     *
+     * @param frame binary frame payload
+     */
+    public static Object decode(byte[] frame) {
+        if (frame.length == 0 || frame[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary frame version");
+        }
+        return new Decoder(frame).readValue();
+    }
+
+    private static class Decoder {
+        final byte[] in;
+        int pos = 1;
+        final List<String> keys = new ArrayList<>();
+
+        Decoder(byte[] in) {
+            this.in = in;
+        }
+
+        long readVarint() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                byte b = in[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+        }
+
+        int readInt32() {
+            int value = (in[pos] & 0xFF) | (in[pos + 1] & 0xFF) << 8
+                | (in[pos + 2] & 0xFF) << 16 | (in[pos + 3] & 0xFF) << 24;
+            pos += 4;
+            return value;
+        }
+
+        long readInt64() {
+            long low = readInt32() & 0xFFFFFFFFL;
+            long high = readInt32() & 0xFFFFFFFFL;
+            return low | high << 32;
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            String s = new String(in, pos, length, UTF_8);
+            pos += length;
+            return s;
+        }
+
+        String readKey() {
+            int tag = in[pos++];
+            if (tag == KEY_DEF) {
+                String key = readString();
+                keys.add(key);
+                return key;
+            } else if (tag == KEY_REF) {
+                return keys.get((int) readVarint());
+            }
+            throw new IllegalArgumentException("Expected key, found tag " + tag);
+        }
+
+        Object readValue() {
+            int tag = in[pos];
+            switch (tag) {
+                case KEY_DEF:
+                case KEY_REF:
+                    return readKey();
+                default:
+                    pos++;
+            }
+
+            switch (tag) {
+                case NULL:
+                    return null;
+                case FALSE:
+                    return false;
+                case TRUE:
+                    return true;
+                case VARINT: {
+                    long v = readVarint();
+                    return (v >>> 1) ^ -(v & 1);
+                }
+                case FLOAT32:
+                    return Float.intBitsToFloat(readInt32());
+                case FLOAT64:
+                    return Double.longBitsToDouble(readInt64());
+                case STRING:
+                    return readString();
+                case FLOAT32_ARRAY: {
+                    float[] values = new float[(int) readVarint()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = Float.intBitsToFloat(readInt32());
+                    }
+                    return values;
+                }
+                case FLOAT64_ARRAY: {
+                    double[] values = new double[(int) readVarint()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = Double.longBitsToDouble(readInt64());
+                    }
+                    return values;
+                }
+                case BYTES: {
+                    int length = (int) readVarint();
+                    byte[] bytes = new byte[length];
+                    System.arraycopy(in, pos, bytes, 0, length);
+                    pos += length;
+                    return bytes;
+                }
+                case LIST: {
+                    int count = (int) readVarint();
+                    List<Object> list = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                }
+                case MAP: {
+                    int count = (int) readVarint();
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        String key = readKey();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown tag " + tag);
+            }
+        }
+    }
+}
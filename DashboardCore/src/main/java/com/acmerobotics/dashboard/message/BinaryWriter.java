@@ -0,0 +1,96 @@
+package com.acmerobotics.dashboard.message;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Growable little-endian byte buffer used by {@link BinaryMessageCodec}.
+ */
+public final class BinaryWriter {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private byte[] buf;
+    private int size;
+
+    public BinaryWriter(int initialCapacity) {
+        buf = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(required, buf.length * 2));
+        }
+    }
+
+    public void writeByte(int b) {
+        ensureCapacity(1);
+        buf[size++] = (byte) b;
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, size, length);
+        size += length;
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     */
+    public void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a zigzag-encoded signed varint.
+     */
+    public void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    public void writeInt32(int value) {
+        ensureCapacity(4);
+        buf[size++] = (byte) value;
+        buf[size++] = (byte) (value >>> 8);
+        buf[size++] = (byte) (value >>> 16);
+        buf[size++] = (byte) (value >>> 24);
+    }
+
+    public void writeInt64(long value) {
+        writeInt32((int) value);
+        writeInt32((int) (value >>> 32));
+    }
+
+    public void writeFloat32(float value) {
+        writeInt32(Float.floatToRawIntBits(value));
+    }
+
+    public void writeFloat64(double value) {
+        writeInt64(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Writes a varint byte length followed by the UTF-8 bytes of the string.
+     */
+    public void writeString(String s) {
+        byte[] bytes = s.getBytes(UTF_8);
+        writeVarint(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+}
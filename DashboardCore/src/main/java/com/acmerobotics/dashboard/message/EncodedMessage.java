@@ -0,0 +1,66 @@
+package com.acmerobotics.dashboard.message;
+
+import java.nio.charset.Charset;
+
+/**
+ * Wire representation of a {@link Message}. Instances are produced once per message and shared
+ * between all recipients, so the payload must never be modified.
+ */
+public final class EncodedMessage {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Message message;
+    private final byte[] payload;
+    private final boolean binary;
+
+    /**
+     * Creates an encoded message from JSON text.
+     *
+     * @param message source message
+     * @param text    JSON encoding of the message
+     */
+    public EncodedMessage(Message message, String text) {
+        this(message, text.getBytes(UTF_8), false);
+    }
+
+    /**
+     * Creates an encoded message.
+     *
+     * @param message source message
+     * @param payload encoded bytes
+     * @param binary  true if the payload belongs in a binary frame, false if it is UTF-8 text
+     */
+    public EncodedMessage(Message message, byte[] payload, boolean binary) {
+        this.message = message;
+        this.payload = payload;
+        this.binary = binary;
+    }
+
+    /**
+     * Returns the source message.
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the encoded payload. Do not modify the returned array.
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns true if the payload must be sent in a binary frame instead of a text frame.
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Returns the payload decoded as text.
+     */
+    public String getText() {
+        return new String(payload, UTF_8);
+    }
+}
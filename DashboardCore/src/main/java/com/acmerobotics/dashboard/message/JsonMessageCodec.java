@@ -0,0 +1,24 @@
+package com.acmerobotics.dashboard.message;
+
+import com.google.gson.Gson;
+
+/**
+ * Default codec sending every message as JSON text.
+ */
+public class JsonMessageCodec implements MessageCodec {
+    private final Gson gson;
+
+    public JsonMessageCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public String getSubprotocol() {
+        return null;
+    }
+
+    @Override
+    public EncodedMessage encode(Message message) {
+        return new EncodedMessage(message, gson.toJson(message));
+    }
+}
@@ -21,4 +21,12 @@ public class Message {
     public MessageType getType() {
         return type;
     }
+
+    /**
+     * Returns true if the message only carries a snapshot of state that a subsequent message of the
+     * same type will supersede. Such messages may be discarded for clients that cannot keep up.
+     */
+    public boolean isDroppable() {
+        return false;
+    }
 }
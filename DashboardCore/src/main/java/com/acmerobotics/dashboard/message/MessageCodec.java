@@ -0,0 +1,19 @@
+package com.acmerobotics.dashboard.message;
+
+/**
+ * Converts outgoing messages into their wire representation. Each connection uses a single codec,
+ * negotiated through the WebSocket subprotocol during the handshake.
+ */
+public interface MessageCodec {
+    /**
+     * Returns the WebSocket subprotocol that selects this codec or null for the default codec.
+     */
+    String getSubprotocol();
+
+    /**
+     * Encodes a message. The result may be shared between connections using the same codec.
+     *
+     * @param message message to encode
+     */
+    EncodedMessage encode(Message message);
+}
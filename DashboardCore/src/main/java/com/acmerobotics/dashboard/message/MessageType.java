@@ -4,8 +4,11 @@ import com.acmerobotics.dashboard.message.redux.GetConfig;
 import com.acmerobotics.dashboard.message.redux.GetConfigBaseline;
 import com.acmerobotics.dashboard.message.redux.GetRobotStatus;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
+import com.acmerobotics.dashboard.message.redux.ReceiveCameraChannels;
+import com.acmerobotics.dashboard.message.redux.ReceiveCanvasLayer;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
 import com.acmerobotics.dashboard.message.redux.ReceiveConfigBaseline;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfigDelta;
 import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
 import com.acmerobotics.dashboard.message.redux.ReceiveHardwareConfigList;
 import com.acmerobotics.dashboard.message.redux.ReceiveImage;
@@ -13,8 +16,14 @@ import com.acmerobotics.dashboard.message.redux.ReceiveLogcatErrors;
 import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
 import com.acmerobotics.dashboard.message.redux.ReceiveRobotStatus;
 import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetryDelta;
 import com.acmerobotics.dashboard.message.redux.SaveConfig;
+import com.acmerobotics.dashboard.message.redux.SetCameraChannels;
+import com.acmerobotics.dashboard.message.redux.SetCanvasLayers;
+import com.acmerobotics.dashboard.message.redux.SetConfigDelta;
+import com.acmerobotics.dashboard.message.redux.SetConfigExpanded;
 import com.acmerobotics.dashboard.message.redux.SetHardwareConfig;
+import com.acmerobotics.dashboard.message.redux.SetTelemetryDelta;
 import com.acmerobotics.dashboard.message.redux.WriteHardwareConfig;
 import com.acmerobotics.dashboard.message.redux.DeleteHardwareConfig;
 import com.acmerobotics.dashboard.message.redux.StartOpMode;
@@ -40,12 +49,21 @@ public enum MessageType {
     SAVE_CONFIG(SaveConfig.class),
     RECEIVE_CONFIG(ReceiveConfig.class),
     RECEIVE_CONFIG_BASELINE(ReceiveConfigBaseline.class),
+    SET_CONFIG_DELTA(SetConfigDelta.class),
+    RECEIVE_CONFIG_DELTA(ReceiveConfigDelta.class),
+    SET_CONFIG_EXPANDED(SetConfigExpanded.class),
 
     /* telemetry */
     RECEIVE_TELEMETRY(ReceiveTelemetry.class),
+    SET_TELEMETRY_DELTA(SetTelemetryDelta.class),
+    RECEIVE_TELEMETRY_DELTA(ReceiveTelemetryDelta.class),
+    SET_CANVAS_LAYERS(SetCanvasLayers.class),
+    RECEIVE_CANVAS_LAYER(ReceiveCanvasLayer.class),
 
     /* camera */
     RECEIVE_IMAGE(ReceiveImage.class),
+    SET_CAMERA_CHANNELS(SetCameraChannels.class),
+    RECEIVE_CAMERA_CHANNELS(ReceiveCameraChannels.class),
 
     /* gamepad */
     RECEIVE_GAMEPAD_STATE(ReceiveGamepadState.class),
@@ -0,0 +1,63 @@
+package com.acmerobotics.dashboard.message;
+
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import java.lang.reflect.Type;
+
+/**
+ * Custom serializer for images that base64-encodes raw image bytes into the JSON field expected by
+ * text clients. Frames of the default channel keep the legacy shape; others also carry their
+ * {@code channel}.
+ */
+public class ReceiveImageSerializer implements JsonSerializer<ReceiveImage> {
+    private static final char[] BASE64_ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    // NOTE: java.util.Base64 requires API 26
+    static String base64(byte[] data) {
+        char[] out = new char[(data.length + 2) / 3 * 4];
+        int o = 0;
+        int i = 0;
+        for (; i + 2 < data.length; i += 3) {
+            int n = (data[i] & 0xFF) << 16 | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF);
+            out[o++] = BASE64_ALPHABET[n >>> 18];
+            out[o++] = BASE64_ALPHABET[(n >>> 12) & 0x3F];
+            out[o++] = BASE64_ALPHABET[(n >>> 6) & 0x3F];
+            out[o++] = BASE64_ALPHABET[n & 0x3F];
+        }
+
+        int remaining = data.length - i;
+        if (remaining > 0) {
+            int n = (data[i] & 0xFF) << 16;
+            if (remaining == 2) {
+                n |= (data[i + 1] & 0xFF) << 8;
+            }
+            out[o++] = BASE64_ALPHABET[n >>> 18];
+            out[o++] = BASE64_ALPHABET[(n >>> 12) & 0x3F];
+            out[o++] = remaining == 2 ? BASE64_ALPHABET[(n >>> 6) & 0x3F] : '=';
+            out[o] = '=';
+        }
+
+        return new String(out);
+    }
+
+    @Override
+    public JsonElement serialize(ReceiveImage src, Type typeOfSrc,
+                                 JsonSerializationContext context) {
+        JsonObject obj = new JsonObject();
+        obj.add("type", context.serialize(src.getType()));
+        if (!ReceiveImage.DEFAULT_CHANNEL.equals(src.getChannel())) {
+            obj.addProperty("channel", src.getChannel());
+        }
+
+        byte[] imageBytes = src.getImageBytes();
+        String imageString = imageBytes == null ? src.getImageString() : base64(imageBytes);
+        obj.add("imageString", imageString == null ? null : new JsonPrimitive(imageString));
+
+        return obj;
+    }
+}
@@ -0,0 +1,23 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import java.util.List;
+
+/**
+ * Names of the camera channels robot code has used. Sent when a client connects and whenever a
+ * channel is added.
+ */
+public class ReceiveCameraChannels extends Message {
+    private List<String> channels;
+
+    public ReceiveCameraChannels(List<String> channels) {
+        super(MessageType.RECEIVE_CAMERA_CHANNELS);
+
+        this.channels = channels;
+    }
+
+    public List<String> getChannels() {
+        return channels;
+    }
+}
@@ -0,0 +1,40 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Retained canvas layer. Clients keep the latest version of each layer and draw it beneath the
+ * telemetry packets referencing it.
+ */
+public class ReceiveCanvasLayer extends Message {
+    /**
+     * Name of the field background layer referenced by {@code TelemetryPacket#getFieldLayer()}.
+     */
+    public static final String FIELD_LAYER = "field";
+
+    private String name;
+    private int version;
+    private Canvas canvas;
+
+    public ReceiveCanvasLayer(String name, int version, Canvas canvas) {
+        super(MessageType.RECEIVE_CANVAS_LAYER);
+
+        this.name = name;
+        this.version = version;
+        this.canvas = canvas;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+}
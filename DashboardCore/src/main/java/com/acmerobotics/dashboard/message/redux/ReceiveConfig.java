@@ -1,15 +1,43 @@
 package com.acmerobotics.dashboard.message.redux;
 
+import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
 import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
+import com.google.gson.JsonElement;
 
 public class ReceiveConfig extends Message {
-    private CustomVariable configRoot;
+    private JsonElement configRoot;
+    private int version;
 
     public ReceiveConfig(CustomVariable configRoot) {
+        this(configRoot, 0);
+    }
+
+    /**
+     * Creates a full config tree message.
+     *
+     * @param configRoot config tree
+     * @param version    version that subsequent {@link ReceiveConfigDelta} messages build on
+     */
+    public ReceiveConfig(CustomVariable configRoot, int version) {
+        this(ConfigVariableSerializer.toJsonTree(configRoot), version);
+    }
+
+    /**
+     * Creates a full config tree message from an already serialized tree.
+     *
+     * @param configRoot serialized config tree, which must not be modified afterwards
+     * @param version    version that subsequent {@link ReceiveConfigDelta} messages build on
+     */
+    public ReceiveConfig(JsonElement configRoot, int version) {
         super(MessageType.RECEIVE_CONFIG);
 
         this.configRoot = configRoot;
+        this.version = version;
+    }
+
+    public int getVersion() {
+        return version;
     }
 }
@@ -0,0 +1,69 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.google.gson.JsonElement;
+import java.util.List;
+
+/**
+ * Incremental config tree update. Paths list the names from the root down to a leaf variable.
+ * Clients apply a delta to the tree of {@link #getBaseVersion()} by first deleting the removed
+ * paths and then setting the changed leaves, creating intermediate nodes as needed. A client
+ * holding any other version must request a full tree with {@link GetConfig}.
+ */
+public class ReceiveConfigDelta extends Message {
+    private int baseVersion;
+    private int version;
+    private List<List<String>> removed;
+    private List<Change> changed;
+
+    public ReceiveConfigDelta(int baseVersion, int version, List<List<String>> removed,
+                              List<Change> changed) {
+        super(MessageType.RECEIVE_CONFIG_DELTA);
+
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    public int getBaseVersion() {
+        return baseVersion;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public List<List<String>> getRemoved() {
+        return removed;
+    }
+
+    public List<Change> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Added or modified leaf variable.
+     */
+    public static class Change {
+        private List<String> path;
+        private JsonElement variable;
+
+        public Change(List<String> path, JsonElement variable) {
+            this.path = path;
+            this.variable = variable;
+        }
+
+        public List<String> getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the serialized variable, in the same format as the variables of a full tree.
+         */
+        public JsonElement getVariable() {
+            return variable;
+        }
+    }
+}
@@ -3,12 +3,106 @@ package com.acmerobotics.dashboard.message.redux;
 import com.acmerobotics.dashboard.message.Message;
 import com.acmerobotics.dashboard.message.MessageType;
 
+/**
+ * Camera frame. Frames created from JPEG bytes are sent to binary clients as a small header
+ * followed by the raw bytes; text clients receive the legacy base64 {@code imageString}. Each
+ * frame belongs to a named channel and is only sent to clients subscribed to it (see
+ * {@link SetCameraChannels}).
+ */
 public class ReceiveImage extends Message {
+    public static final String DEFAULT_CHANNEL = "default";
+
     private String imageString;
+    // NOTE: only serialized for channels other than the default one
+    private transient String channel = DEFAULT_CHANNEL;
+    // NOTE: base64-encoded into imageString only when the message is serialized as JSON
+    private transient byte[] imageBytes;
+    // NOTE: only part of the binary encoding
+    private transient long frameId;
+    private transient long timestamp;
+    private transient int width;
+    private transient int height;
 
     public ReceiveImage(String imageString) {
         super(MessageType.RECEIVE_IMAGE);
 
         this.imageString = imageString;
     }
+
+    /**
+     * Creates an image message from JPEG bytes. Binary clients receive the bytes as is.
+     *
+     * @param imageBytes JPEG data; must not be modified afterwards
+     */
+    public ReceiveImage(byte[] imageBytes) {
+        this(imageBytes, 0, System.currentTimeMillis(), 0, 0);
+    }
+
+    /**
+     * Creates an image message from JPEG bytes. Binary clients receive the bytes as is.
+     *
+     * @param imageBytes JPEG data; must not be modified afterwards
+     * @param frameId    identifier increasing with each frame of a stream
+     * @param timestamp  capture time in milliseconds since the epoch
+     * @param width      image width in pixels or 0 if unknown
+     * @param height     image height in pixels or 0 if unknown
+     */
+    public ReceiveImage(byte[] imageBytes, long frameId, long timestamp, int width, int height) {
+        this(DEFAULT_CHANNEL, imageBytes, frameId, timestamp, width, height);
+    }
+
+    /**
+     * Creates an image message from JPEG bytes. Binary clients receive the bytes as is.
+     *
+     * @param channel    name of the camera channel
+     * @param imageBytes JPEG data; must not be modified afterwards
+     * @param frameId    identifier increasing with each frame of a stream
+     * @param timestamp  capture time in milliseconds since the epoch
+     * @param width      image width in pixels or 0 if unknown
+     * @param height     image height in pixels or 0 if unknown
+     */
+    public ReceiveImage(String channel, byte[] imageBytes, long frameId, long timestamp,
+                        int width, int height) {
+        super(MessageType.RECEIVE_IMAGE);
+
+        this.channel = channel;
+        this.imageBytes = imageBytes;
+        this.frameId = frameId;
+        this.timestamp = timestamp;
+        this.width = width;
+        this.height = height;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getImageString() {
+        return imageString;
+    }
+
+    public byte[] getImageBytes() {
+        return imageBytes;
+    }
+
+    public long getFrameId() {
+        return frameId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean isDroppable() {
+        return true;
+    }
 }
@@ -14,4 +14,10 @@ public class ReceiveTelemetry extends Message {
 
         telemetry = packets;
     }
+
+    @Override
+    public boolean isDroppable() {
+        // clearing must always reach the client
+        return !telemetry.isEmpty();
+    }
 }
@@ -0,0 +1,109 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta-encoded telemetry batch. Each packet only carries the keys whose values changed since the
+ * previous packet sent to the same client, plus the keys that disappeared. Clients reconstruct the
+ * full data of every packet by applying the packets in order to a running key-value map, which is
+ * reset whenever {@link #isKeyframe()} is true.
+ */
+public class ReceiveTelemetryDelta extends Message {
+    private boolean keyframe;
+    private List<PacketDelta> telemetry;
+
+    public ReceiveTelemetryDelta(boolean keyframe, List<PacketDelta> telemetry) {
+        super(MessageType.RECEIVE_TELEMETRY_DELTA);
+
+        this.keyframe = keyframe;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Returns true if the first packet contains the complete data and replaces the client state.
+     */
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    public List<PacketDelta> getTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    public boolean isDroppable() {
+        return true;
+    }
+
+    public static class PacketDelta {
+        private long timestamp;
+        private Map<String, String> data;
+        private List<String> removed;
+        private List<String> log;
+        private Canvas field;
+        private Canvas fieldOverlay;
+        private int fieldLayer;
+        private Map<String, Integer> layers;
+
+        public PacketDelta(long timestamp, Map<String, String> data, List<String> removed,
+                           List<String> log, Canvas field, Canvas fieldOverlay, int fieldLayer,
+                           Map<String, Integer> layers) {
+            this.timestamp = timestamp;
+            this.data = data;
+            this.removed = removed;
+            this.log = log;
+            this.field = field;
+            this.fieldOverlay = fieldOverlay;
+            this.fieldLayer = fieldLayer;
+            this.layers = layers;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Returns the added or changed entries.
+         */
+        public Map<String, String> getData() {
+            return data;
+        }
+
+        /**
+         * Returns the keys that are no longer present.
+         */
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        public List<String> getLog() {
+            return log;
+        }
+
+        public Canvas getField() {
+            return field;
+        }
+
+        public Canvas getFieldOverlay() {
+            return fieldOverlay;
+        }
+
+        /**
+         * Returns the version of the field background layer or 0 if there is none.
+         */
+        public int getFieldLayer() {
+            return fieldLayer;
+        }
+
+        /**
+         * Returns the versions of the named layers drawn by the packet or null if there are none.
+         */
+        public Map<String, Integer> getLayers() {
+            return layers;
+        }
+    }
+}
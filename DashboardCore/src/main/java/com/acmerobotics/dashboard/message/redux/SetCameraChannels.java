@@ -0,0 +1,25 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sent by clients to choose the camera channels they receive frames from. Clients that never send
+ * it receive the {@link ReceiveImage#DEFAULT_CHANNEL default channel} only. Each message replaces
+ * the previous selection.
+ */
+public class SetCameraChannels extends Message {
+    private List<String> channels;
+
+    public SetCameraChannels(List<String> channels) {
+        super(MessageType.SET_CAMERA_CHANNELS);
+
+        this.channels = channels;
+    }
+
+    public List<String> getChannels() {
+        return channels == null ? Collections.<String>emptyList() : channels;
+    }
+}
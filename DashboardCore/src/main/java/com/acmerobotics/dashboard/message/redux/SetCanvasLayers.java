@@ -0,0 +1,23 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Sent by clients that retain canvas layers received as {@link ReceiveCanvasLayer} messages.
+ * Telemetry packets sent to these clients reference the field background layer instead of
+ * carrying its operations.
+ */
+public class SetCanvasLayers extends Message {
+    private boolean enabled;
+
+    public SetCanvasLayers(boolean enabled) {
+        super(MessageType.SET_CANVAS_LAYERS);
+
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,22 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Sent by clients that want config tree updates as {@link ReceiveConfigDelta} messages instead of
+ * full {@link ReceiveConfig} trees.
+ */
+public class SetConfigDelta extends Message {
+    private boolean enabled;
+
+    public SetConfigDelta(boolean enabled) {
+        super(MessageType.SET_CONFIG_DELTA);
+
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
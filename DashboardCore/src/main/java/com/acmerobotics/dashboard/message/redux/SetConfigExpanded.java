@@ -0,0 +1,26 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sent by clients to list the config nodes they currently display expanded. Each path names a
+ * node from the root down; the leaf variables directly under it are sampled in the background
+ * and changes made by robot code are published without waiting for another update. Each message
+ * replaces the previous list.
+ */
+public class SetConfigExpanded extends Message {
+    private List<List<String>> paths;
+
+    public SetConfigExpanded(List<List<String>> paths) {
+        super(MessageType.SET_CONFIG_EXPANDED);
+
+        this.paths = paths;
+    }
+
+    public List<List<String>> getPaths() {
+        return paths == null ? Collections.<List<String>>emptyList() : paths;
+    }
+}
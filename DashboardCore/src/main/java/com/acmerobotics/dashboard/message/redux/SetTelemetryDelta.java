@@ -0,0 +1,22 @@
+package com.acmerobotics.dashboard.message.redux;
+
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+
+/**
+ * Sent by clients that want telemetry as {@link ReceiveTelemetryDelta} messages instead of full
+ * {@link ReceiveTelemetry} batches.
+ */
+public class SetTelemetryDelta extends Message {
+    private boolean enabled;
+
+    public SetTelemetryDelta(boolean enabled) {
+        super(MessageType.SET_TELEMETRY_DELTA);
+
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,93 @@
+package com.acmerobotics.dashboard.telemetry;
+
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetryDelta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tracks the telemetry last sent to a single client and produces {@link ReceiveTelemetryDelta}
+ * messages against it. A keyframe containing every key is emitted first, after
+ * {@link #requestKeyframe()}, and periodically so that clients can resynchronize.
+ */
+public class TelemetryDeltaEncoder {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 50; // batches
+
+    private final int keyframeInterval;
+    private final Map<String, String> lastSent = new HashMap<>();
+    private int batchesSinceKeyframe;
+    private boolean keyframeRequested = true;
+
+    /**
+     * Creates an encoder.
+     *
+     * @param keyframeInterval number of batches between keyframes
+     */
+    public TelemetryDeltaEncoder(int keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    public TelemetryDeltaEncoder() {
+        this(DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Forces the next batch to be a keyframe, e.g., after telemetry was cleared or a message was
+     * lost.
+     */
+    public synchronized void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /**
+     * Encodes a batch of packets relative to the previously encoded batches.
+     *
+     * @param packets packets in transmission order
+     */
+    public synchronized ReceiveTelemetryDelta encode(List<TelemetryPacket> packets) {
+        boolean keyframe = keyframeRequested || batchesSinceKeyframe >= keyframeInterval;
+        if (keyframe) {
+            lastSent.clear();
+            keyframeRequested = false;
+            batchesSinceKeyframe = 0;
+        } else {
+            batchesSinceKeyframe++;
+        }
+
+        List<ReceiveTelemetryDelta.PacketDelta> deltas = new ArrayList<>(packets.size());
+        for (TelemetryPacket packet : packets) {
+            Map<String, String> data = packet.getData();
+
+            List<String> removed = Collections.emptyList();
+            Iterator<Map.Entry<String, String>> it = lastSent.entrySet().iterator();
+            while (it.hasNext()) {
+                String key = it.next().getKey();
+                if (!data.containsKey(key)) {
+                    if (removed.isEmpty()) {
+                        removed = new ArrayList<>();
+                    }
+                    removed.add(key);
+                    it.remove();
+                }
+            }
+
+            Map<String, String> changed = new TreeMap<>();
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                String previous = lastSent.put(entry.getKey(), entry.getValue());
+                if (!entry.getValue().equals(previous)) {
+                    changed.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            deltas.add(new ReceiveTelemetryDelta.PacketDelta(packet.getTimestamp(), changed,
+                removed, packet.getLog(), packet.field(), packet.fieldOverlay(),
+                packet.getFieldLayer(), packet.getLayerVersions()));
+        }
+
+        return new ReceiveTelemetryDelta(keyframe, deltas);
+    }
+}
@@ -2,6 +2,9 @@ package com.acmerobotics.dashboard.telemetry;
 
 import com.acmerobotics.dashboard.canvas.Canvas;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
@@ -10,25 +13,72 @@ import java.util.TreeMap;
 /**
  * Container for telemetry information. This class can be extended to support additional, custom
  * telemetry data.
+ * <p>
+ * Values stored with the primitive {@code put} overloads are kept unboxed and only formatted when
+ * the packet is serialized as text, so they don't allocate on the caller's thread.
+ * <p>
+ * The default field background isn't stored in packets. It is a retained layer managed by the
+ * dashboard that packets reference by version (see {@link #getFieldLayer()}). Static drawings
+ * like planned paths belong in named layers (see {@link #layer(String)}), which are likewise only
+ * transmitted when their content changes.
  */
 public class TelemetryPacket {
+    private static final byte KIND_DOUBLE = 0;
+    private static final byte KIND_FLOAT = 1;
+    private static final byte KIND_LONG = 2;
+    private static final byte KIND_BOOLEAN = 3;
+
     private long timestamp;
     private SortedMap<String, String> data;
     private List<String> log;
     private Canvas field;
     private Canvas fieldOverlay;
+    private int fieldLayer;
+    // versions of the named layers drawn by the packet; filled in by the dashboard
+    private Map<String, Integer> layers;
+
+    // NOTE: unformatted primitive values as parallel arrays; keys never appear in data as well
+    private transient String[] primitiveKeys;
+    private transient long[] primitiveBits;
+    private transient byte[] primitiveKinds;
+    private transient int primitiveCount;
+
+    private transient Map<String, Canvas> layerCanvases;
+
+    private transient boolean drawDefaultField;
+    // pool the packet was acquired from or null
+    transient TelemetryPacketPool pool;
+    transient boolean pooled;
+
+    /**
+     * Receives the key-value pairs of a packet without formatting primitive values.
+     */
+    public interface DataVisitor {
+        void visitString(String key, String value);
+
+        void visitDouble(String key, double value);
+
+        void visitLong(String key, long value);
 
-    private static final Canvas DEFAULT_FIELD = new Canvas();
+        void visitBoolean(String key, boolean value);
+    }
 
-    static {
-        DEFAULT_FIELD.setAlpha(0.4);
-        DEFAULT_FIELD.drawImage("/dash/decode.webp", 0, 0, 144, 144);
-        DEFAULT_FIELD.setAlpha(1.0);
-        DEFAULT_FIELD.drawGrid(0, 0, 144, 144, 7, 7);
+    /**
+     * Returns a new canvas with the stock field background.
+     */
+    public static Canvas createDefaultField() {
+        Canvas field = new Canvas();
+        field.setAlpha(0.4);
+        field.drawImage("/dash/decode.webp", 0, 0, 144, 144);
+        field.setAlpha(1.0);
+        field.drawGrid(0, 0, 144, 144, 7, 7);
+        return field;
     }
 
     /**
      * Creates a new telemetry packet.
+     *
+     * @param drawDefaultField whether the field background is drawn beneath the packet's field
      */
     public TelemetryPacket(boolean drawDefaultField) {
         data = new TreeMap<>();
@@ -36,9 +86,7 @@ public class TelemetryPacket {
         field = new Canvas();
         fieldOverlay = new Canvas();
 
-        if (drawDefaultField) {
-            field.getOperations().addAll(DEFAULT_FIELD.getOperations());
-        }
+        this.drawDefaultField = drawDefaultField;
     }
 
     public TelemetryPacket() {
@@ -52,9 +100,122 @@ public class TelemetryPacket {
      * @param value
      */
     public void put(String key, Object value) {
+        if (primitiveCount > 0) {
+            removePrimitive(key);
+        }
         data.put(key, value == null ? "null" : value.toString());
     }
 
+    /**
+     * Stores a single key-value pair without allocating.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, double value) {
+        putPrimitive(key, Double.doubleToRawLongBits(value), KIND_DOUBLE);
+    }
+
+    /**
+     * Stores a single key-value pair without allocating.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, float value) {
+        putPrimitive(key, Double.doubleToRawLongBits(value), KIND_FLOAT);
+    }
+
+    /**
+     * Stores a single key-value pair without allocating.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, long value) {
+        putPrimitive(key, value, KIND_LONG);
+    }
+
+    /**
+     * Stores a single key-value pair without allocating.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, boolean value) {
+        putPrimitive(key, value ? 1 : 0, KIND_BOOLEAN);
+    }
+
+    /**
+     * Stores a single key-value pair. Declared so that characters aren't widened to numbers.
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, char value) {
+        put(key, (Object) value);
+    }
+
+    private int indexOfPrimitive(String key) {
+        for (int i = 0; i < primitiveCount; i++) {
+            String k = primitiveKeys[i];
+            if (k == key || k.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removePrimitive(String key) {
+        int i = indexOfPrimitive(key);
+        if (i >= 0) {
+            primitiveCount--;
+            primitiveKeys[i] = primitiveKeys[primitiveCount];
+            primitiveBits[i] = primitiveBits[primitiveCount];
+            primitiveKinds[i] = primitiveKinds[primitiveCount];
+            primitiveKeys[primitiveCount] = null;
+        }
+    }
+
+    private void putPrimitive(String key, long bits, byte kind) {
+        if (!data.isEmpty()) {
+            data.remove(key);
+        }
+
+        int i = indexOfPrimitive(key);
+        if (i < 0) {
+            if (primitiveKeys == null) {
+                primitiveKeys = new String[16];
+                primitiveBits = new long[16];
+                primitiveKinds = new byte[16];
+            } else if (primitiveCount == primitiveKeys.length) {
+                int capacity = 2 * primitiveCount;
+                primitiveKeys = Arrays.copyOf(primitiveKeys, capacity);
+                primitiveBits = Arrays.copyOf(primitiveBits, capacity);
+                primitiveKinds = Arrays.copyOf(primitiveKinds, capacity);
+            }
+            i = primitiveCount++;
+            primitiveKeys[i] = key;
+        }
+
+        primitiveBits[i] = bits;
+        primitiveKinds[i] = kind;
+    }
+
+    private String formatPrimitive(int i) {
+        long bits = primitiveBits[i];
+        switch (primitiveKinds[i]) {
+            case KIND_DOUBLE:
+                return Double.toString(Double.longBitsToDouble(bits));
+            case KIND_FLOAT:
+                return Float.toString((float) Double.longBitsToDouble(bits));
+            case KIND_LONG:
+                return Long.toString(bits);
+            default:
+                return Boolean.toString(bits != 0);
+        }
+    }
+
     /**
      * Stores all entries of the provided map.
      *
@@ -91,6 +252,181 @@ public class TelemetryPacket {
         return timestamp;
     }
 
+    /**
+     * Returns the timestamp of the packet in milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the key-value pairs stored in the packet. If primitive values are stored, they are
+     * formatted into a new map; the packet itself is never modified, so encodings produced later
+     * still see the unformatted values.
+     */
+    public SortedMap<String, String> getData() {
+        if (primitiveCount == 0) {
+            return data;
+        }
+
+        SortedMap<String, String> merged = new TreeMap<>(data);
+        for (int i = 0; i < primitiveCount; i++) {
+            merged.put(primitiveKeys[i], formatPrimitive(i));
+        }
+        return merged;
+    }
+
+    /*
+     * Returns true if values stored with the primitive put overloads are waiting to be formatted.
+     */
+    boolean hasPrimitiveData() {
+        return primitiveCount > 0;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in the packet.
+     */
+    public int getDataSize() {
+        return data.size() + primitiveCount;
+    }
+
+    /**
+     * Passes all key-value pairs to the visitor, primitive values unformatted.
+     *
+     * @param visitor
+     */
+    public void visitData(DataVisitor visitor) {
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            visitor.visitString(entry.getKey(), entry.getValue());
+        }
+
+        for (int i = 0; i < primitiveCount; i++) {
+            long bits = primitiveBits[i];
+            switch (primitiveKinds[i]) {
+                case KIND_DOUBLE:
+                case KIND_FLOAT:
+                    visitor.visitDouble(primitiveKeys[i], Double.longBitsToDouble(bits));
+                    break;
+                case KIND_LONG:
+                    visitor.visitLong(primitiveKeys[i], bits);
+                    break;
+                default:
+                    visitor.visitBoolean(primitiveKeys[i], bits != 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the telemetry log lines.
+     */
+    public List<String> getLog() {
+        return log;
+    }
+
+    /*
+     * Restores the packet to its newly constructed state while keeping allocated storage.
+     */
+    void reset() {
+        timestamp = 0;
+        data.clear();
+        for (int i = 0; i < primitiveCount; i++) {
+            primitiveKeys[i] = null;
+        }
+        primitiveCount = 0;
+        log.clear();
+        field.clear();
+        fieldOverlay.clear();
+        fieldLayer = 0;
+        layers = null;
+        if (layerCanvases != null) {
+            layerCanvases.clear();
+        }
+    }
+
+    /**
+     * Returns true if the field background is drawn beneath the packet's field.
+     */
+    public boolean isDefaultFieldDrawn() {
+        return drawDefaultField;
+    }
+
+    /**
+     * Returns the version of the field background layer drawn beneath the packet's field or 0 if
+     * there is none.
+     */
+    public int getFieldLayer() {
+        return fieldLayer;
+    }
+
+    /**
+     * Sets the field background layer version. Called by the dashboard before the packet is
+     * transmitted.
+     *
+     * @param fieldLayer layer version or 0 for none
+     */
+    public void setFieldLayer(int fieldLayer) {
+        this.fieldLayer = fieldLayer;
+    }
+
+    /**
+     * Returns the named canvas layer, creating it if necessary. Layers are drawn in creation order
+     * above the field and beneath the overlay. Unlike the overlay, a layer is only transmitted
+     * when its operations differ from the last transmitted version of the layer with the same
+     * name, so it suits drawings that rarely change. Only the layers of the most recent packet
+     * in each batch that draws anything are displayed.
+     *
+     * @param name layer name
+     */
+    public Canvas layer(String name) {
+        if (layerCanvases == null) {
+            layerCanvases = new LinkedHashMap<>();
+        }
+
+        Canvas canvas = layerCanvases.get(name);
+        if (canvas == null) {
+            canvas = new Canvas();
+            layerCanvases.put(name, canvas);
+        }
+        return canvas;
+    }
+
+    /**
+     * Returns the named canvas layers drawn by the packet.
+     */
+    public Map<String, Canvas> getLayers() {
+        if (layerCanvases == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(layerCanvases);
+    }
+
+    /**
+     * Removes all named layers from the packet.
+     */
+    public void clearLayers() {
+        if (layerCanvases != null) {
+            layerCanvases.clear();
+        }
+        layers = null;
+    }
+
+    /**
+     * Returns the transmitted versions of the named layers drawn by the packet or null if they
+     * haven't been assigned.
+     */
+    public Map<String, Integer> getLayerVersions() {
+        return layers;
+    }
+
+    /**
+     * Sets the layer versions. Called by the dashboard before the packet is transmitted.
+     *
+     * @param layerVersions versions keyed by layer name or null
+     */
+    public void setLayerVersions(Map<String, Integer> layerVersions) {
+        this.layers = layerVersions;
+    }
+
     /**
      * Returns the field overlay canvas.
      */
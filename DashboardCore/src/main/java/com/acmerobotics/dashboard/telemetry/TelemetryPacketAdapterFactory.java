@@ -0,0 +1,45 @@
+package com.acmerobotics.dashboard.telemetry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Adds the formatted primitive values of telemetry packets (and subclasses) to the {@code data}
+ * produced by the default reflective serialization, without modifying the packet.
+ */
+public class TelemetryPacketAdapterFactory implements TypeAdapterFactory {
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!TelemetryPacket.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                TelemetryPacket packet = (TelemetryPacket) value;
+                if (packet == null || !packet.hasPrimitiveData()) {
+                    delegate.write(out, value);
+                    return;
+                }
+
+                // the reflective data field lacks the primitive values
+                JsonObject obj = delegate.toJsonTree(value).getAsJsonObject();
+                obj.add("data", gson.toJsonTree(packet.getData()));
+                gson.toJson(obj, out);
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.acmerobotics.dashboard.telemetry;
+
+import com.acmerobotics.dashboard.RingBuffer;
+
+/**
+ * Recycles telemetry packets so that producing telemetry every loop doesn't allocate new packets
+ * and their collections.
+ * <p>
+ * A packet is owned by whoever acquired it until it is passed to
+ * {@link com.acmerobotics.dashboard.DashboardCore#sendTelemetryPacket(TelemetryPacket)}. Ownership
+ * then moves to the transmission thread, which returns the packet with {@link #recycle} once the
+ * packet has been encoded for every client. The lock-free hand-offs on both sides order the
+ * owners' accesses, so packets need no further synchronization.
+ */
+public final class TelemetryPacketPool {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final RingBuffer<TelemetryPacket> packets;
+    private final boolean drawDefaultField;
+
+    /**
+     * Creates a pool of packets.
+     *
+     * @param capacity         maximum number of idle packets kept
+     * @param drawDefaultField whether packets start with the default field drawn
+     */
+    public TelemetryPacketPool(int capacity, boolean drawDefaultField) {
+        packets = new RingBuffer<>(capacity, RingBuffer.DropPolicy.DROP_NEWEST);
+        this.drawDefaultField = drawDefaultField;
+    }
+
+    public TelemetryPacketPool() {
+        this(DEFAULT_CAPACITY, true);
+    }
+
+    /**
+     * Returns an empty packet, reusing an idle one if available.
+     */
+    public TelemetryPacket acquire() {
+        TelemetryPacket packet = packets.poll();
+        if (packet == null) {
+            packet = new TelemetryPacket(drawDefaultField);
+            packet.pool = this;
+        }
+        packet.pooled = false;
+        return packet;
+    }
+
+    /**
+     * Returns the number of idle packets.
+     */
+    public int size() {
+        return packets.size();
+    }
+
+    /**
+     * Returns a packet to the pool it was acquired from. Packets that didn't come from a pool (or
+     * were already returned) are ignored. The caller must own the packet and give up all
+     * references to it.
+     *
+     * @param packet packet to recycle
+     */
+    public static void recycle(TelemetryPacket packet) {
+        TelemetryPacketPool pool = packet.pool;
+        if (pool == null || packet.pooled) {
+            return;
+        }
+
+        packet.reset();
+        packet.pooled = true;
+        // when the pool is full the packet is simply left to the garbage collector
+        pool.packets.offer(packet);
+    }
+}
@@ -0,0 +1,62 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveCameraControllerTests {
+    private static final long STEP = AdaptiveCameraController.ADJUSTMENT_INTERVAL;
+
+    @Test
+    void degradesQualityThenScaleThenFps() {
+        AdaptiveCameraController controller = new AdaptiveCameraController(30, 50, 0.5, 5, 20);
+
+        long now = 0;
+        assertTrue(controller.update(10000, 500, Double.NaN, now));
+        assertEquals(40, controller.getQuality());
+        // adjustments wait for the previous one to take effect
+        assertFalse(controller.update(10000, 500, Double.NaN, now + STEP - 1));
+
+        assertTrue(controller.update(10000, 500, Double.NaN, now += STEP));
+        assertEquals(30, controller.getQuality());
+        assertEquals(1, controller.getScale());
+
+        assertTrue(controller.update(10000, 500, Double.NaN, now += STEP));
+        assertEquals(0.75, controller.getScale());
+        assertTrue(controller.update(10000, 500, Double.NaN, now += STEP));
+        assertEquals(0.5625, controller.getScale());
+        assertTrue(controller.update(10000, 500, Double.NaN, now += STEP));
+        assertEquals(0.5, controller.getScale());
+        assertEquals(20, controller.getFps());
+
+        // bandwidth limits count as congestion even with low latency: 10 kB at 20 fps > 150 kB/s
+        assertTrue(controller.update(10000, 10, 150000, now += STEP));
+        assertEquals(15, controller.getFps());
+    }
+
+    @Test
+    void restoresInReverseOrderWithHeadroom() {
+        AdaptiveCameraController controller = new AdaptiveCameraController(40, 50, 0.75, 10, 20);
+
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            controller.update(10000, 500, Double.NaN, now += STEP);
+        }
+        assertEquals(40, controller.getQuality());
+        assertEquals(0.75, controller.getScale());
+        assertEquals(15, controller.getFps());
+
+        // within budget but without enough headroom to raise anything
+        assertFalse(controller.update(10000, 150, Double.NaN, now += STEP));
+
+        assertTrue(controller.update(10000, 20, 1e6, now += STEP));
+        assertEquals(20, controller.getFps());
+        assertTrue(controller.update(10000, 20, 1e6, now += STEP));
+        assertEquals(1, controller.getScale());
+        assertTrue(controller.update(10000, 20, 1e6, now += STEP));
+        assertEquals(50, controller.getQuality());
+        assertFalse(controller.update(10000, 20, 1e6, now += STEP));
+    }
+}
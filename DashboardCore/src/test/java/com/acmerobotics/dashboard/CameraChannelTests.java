@@ -0,0 +1,199 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
+import com.acmerobotics.dashboard.message.redux.SetCameraChannels;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class CameraChannelTests {
+    private static class RecordingClient implements SendFun {
+        final BlockingQueue<EncodedMessage> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(Message message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            received.add(message);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        String next(MessageType type) throws InterruptedException {
+            while (true) {
+                EncodedMessage message = received.poll(5, TimeUnit.SECONDS);
+                if (message == null) {
+                    throw new AssertionError("No " + type + " message");
+                }
+                if (message.getMessage().getType() == type) {
+                    return message.getText();
+                }
+            }
+        }
+    }
+
+    private static ReceiveImage frame(String channel, long frameId) {
+        return new ReceiveImage(channel, new byte[] {(byte) 0xFF, (byte) 0xD8}, frameId, 0, 0, 0);
+    }
+
+    @Test
+    void framesGoToSubscribersOnly() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.setCameraChannels(Arrays.asList(ReceiveImage.DEFAULT_CHANNEL, "front", "back"));
+
+        RecordingClient legacy = new RecordingClient();
+        core.newSocket(legacy).onOpen();
+
+        RecordingClient subscriber = new RecordingClient();
+        SocketHandler handler = core.newSocket(subscriber);
+        handler.onOpen();
+        // the channels are listed on connect, before the client subscribes to any
+        String channels = subscriber.next(MessageType.RECEIVE_CAMERA_CHANNELS);
+        assertTrue(channels.contains("[\"default\",\"front\",\"back\"]"), channels);
+        channels = legacy.next(MessageType.RECEIVE_CAMERA_CHANNELS);
+        assertTrue(channels.contains("[\"default\",\"front\",\"back\"]"), channels);
+
+        handler.onMessage(new SetCameraChannels(Collections.singletonList("front")));
+
+        assertTrue(core.hasCameraSubscribers(ReceiveImage.DEFAULT_CHANNEL));
+        assertTrue(core.hasCameraSubscribers("front"));
+        assertFalse(core.hasCameraSubscribers("back"));
+        // nobody would receive a new frame, so there is no point encoding one
+        assertTrue(core.isImageBacklogged("back"));
+
+        core.sendCameraFrame(frame(ReceiveImage.DEFAULT_CHANNEL, 1));
+        core.sendCameraFrame(frame("front", 2));
+        core.sendCameraFrame(frame("back", 3));
+
+        String image = subscriber.next(MessageType.RECEIVE_IMAGE);
+        assertTrue(image.contains("\"channel\":\"front\""), image);
+        image = legacy.next(MessageType.RECEIVE_IMAGE);
+        assertFalse(image.contains("channel"), image);
+
+        core.setCameraChannels(Arrays.asList(ReceiveImage.DEFAULT_CHANNEL, "front", "back", "arm"));
+        channels = subscriber.next(MessageType.RECEIVE_CAMERA_CHANNELS);
+        assertTrue(channels.contains("\"arm\""), channels);
+        channels = legacy.next(MessageType.RECEIVE_CAMERA_CHANNELS);
+        assertTrue(channels.contains("\"arm\""), channels);
+
+        assertEquals(0, legacy.received.stream()
+            .filter(m -> m.getMessage().getType() == MessageType.RECEIVE_IMAGE).count());
+        assertEquals(0, subscriber.received.stream()
+            .filter(m -> m.getMessage().getType() == MessageType.RECEIVE_IMAGE).count());
+    }
+
+    @Test
+    void framesOnlySupersedeTheirOwnChannel() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingClient client = new RecordingClient() {
+            @Override
+            public void send(EncodedMessage message) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(message);
+            }
+        };
+
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        SocketHandler handler = core.newSocket(client);
+        handler.onOpen();
+        handler.onMessage(new SetCameraChannels(Arrays.asList("front", "back")));
+        // the writer is stuck on the first message
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        core.sendCameraFrame(frame("front", 1));
+        core.sendCameraFrame(frame("back", 2));
+        assertTrue(core.isImageBacklogged("front"));
+        assertTrue(core.isImageBacklogged("back"));
+        core.sendCameraFrame(frame("front", 3));
+        release.countDown();
+
+        assertEquals(2, ((ReceiveImage) nextImage(client)).getFrameId());
+        assertEquals(3, ((ReceiveImage) nextImage(client)).getFrameId());
+        assertFalse(core.isImageBacklogged("front"));
+    }
+
+    @Test
+    void deliveryStatsArePerChannel() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        RecordingClient legacy = new RecordingClient();
+        core.newSocket(legacy).onOpen();
+
+        RecordingClient subscriber = new RecordingClient();
+        SocketHandler handler = core.newSocket(subscriber);
+        handler.onOpen();
+        handler.onMessage(new SetCameraChannels(Arrays.asList("front", "back")));
+
+        core.sendCameraFrame(frame("front", 1));
+        nextImage(subscriber);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Double.isNaN(core.getImageLatency("front"))) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+
+        assertFalse(Double.isNaN(core.getImageThroughput("front")));
+        // other channels and clients that don't watch the channel don't count
+        assertTrue(Double.isNaN(core.getImageLatency("back")));
+        assertTrue(Double.isNaN(core.getImageThroughput("back")));
+        assertTrue(Double.isNaN(core.getImageLatency(ReceiveImage.DEFAULT_CHANNEL)));
+    }
+
+    @Test
+    void failedWritesDisconnectTheClient() throws InterruptedException {
+        RecordingClient client = new RecordingClient() {
+            @Override
+            public void send(EncodedMessage message) {
+                throw new RuntimeException("connection reset");
+            }
+        };
+
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.newSocket(client).onOpen();
+        assertTrue(client.closed.await(5, TimeUnit.SECONDS));
+
+        // the next broadcast finds the queue closed and drops the client
+        core.setCameraChannels(Arrays.asList(ReceiveImage.DEFAULT_CHANNEL, "front"));
+        assertFalse(core.hasCameraSubscribers(ReceiveImage.DEFAULT_CHANNEL));
+    }
+
+    private static Message nextImage(RecordingClient client) throws InterruptedException {
+        while (true) {
+            EncodedMessage message = client.received.poll(5, TimeUnit.SECONDS);
+            if (message == null) {
+                throw new AssertionError("No image");
+            }
+            if (message.getMessage().getType() == MessageType.RECEIVE_IMAGE) {
+                return message.getMessage();
+            }
+        }
+    }
+}
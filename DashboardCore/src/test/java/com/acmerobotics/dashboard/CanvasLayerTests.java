@@ -0,0 +1,126 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.SetCanvasLayers;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class CanvasLayerTests {
+    private static class RecordingClient implements SendFun {
+        final BlockingQueue<EncodedMessage> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Message message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            received.add(message);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        String next(MessageType type) throws InterruptedException {
+            while (true) {
+                EncodedMessage message = received.poll(5, TimeUnit.SECONDS);
+                if (message == null) {
+                    throw new AssertionError("No " + type + " message");
+                }
+                if (message.getMessage().getType() == type) {
+                    return message.getText();
+                }
+            }
+        }
+    }
+
+    @Test
+    void backgroundSentOnceToLayerClients() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        RecordingClient legacy = new RecordingClient();
+        core.newSocket(legacy).onOpen();
+
+        RecordingClient layered = new RecordingClient();
+        SocketHandler handler = core.newSocket(layered);
+        handler.onOpen();
+        handler.onMessage(new SetCanvasLayers(true));
+
+        String layer = layered.next(MessageType.RECEIVE_CANVAS_LAYER);
+        assertTrue(layer.contains("\"name\":\"field\""), layer);
+        assertTrue(layer.contains("\"version\":1"), layer);
+        assertTrue(layer.contains("decode.webp"), layer);
+
+        TelemetryPacket p = new TelemetryPacket();
+        p.fieldOverlay().strokeLine(0, 0, 1, 1);
+        core.sendTelemetryPacket(p);
+
+        String layeredTelemetry = layered.next(MessageType.RECEIVE_TELEMETRY);
+        assertFalse(layeredTelemetry.contains("decode.webp"), layeredTelemetry);
+        assertTrue(layeredTelemetry.contains("\"fieldLayer\":1"), layeredTelemetry);
+
+        String legacyTelemetry = legacy.next(MessageType.RECEIVE_TELEMETRY);
+        assertTrue(legacyTelemetry.contains("decode.webp"), legacyTelemetry);
+
+        core.setFieldBackground(new Canvas().strokeCircle(0, 0, 1));
+        layer = layered.next(MessageType.RECEIVE_CANVAS_LAYER);
+        assertTrue(layer.contains("\"version\":2"), layer);
+        assertEquals(0, legacy.received.stream()
+            .filter(m -> m.getMessage().getType() == MessageType.RECEIVE_CANVAS_LAYER).count());
+    }
+
+    @Test
+    void namedLayersSentOnlyWhenChanged() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        RecordingClient legacy = new RecordingClient();
+        core.newSocket(legacy).onOpen();
+
+        RecordingClient layered = new RecordingClient();
+        SocketHandler handler = core.newSocket(layered);
+        handler.onOpen();
+        handler.onMessage(new SetCanvasLayers(true));
+        layered.next(MessageType.RECEIVE_CANVAS_LAYER);
+
+        for (int i = 0; i < 2; i++) {
+            TelemetryPacket p = new TelemetryPacket();
+            p.layer("path").strokeCircle(0, 0, 37);
+            core.sendTelemetryPacket(p);
+
+            String telemetry = layered.next(MessageType.RECEIVE_TELEMETRY);
+            assertTrue(telemetry.contains("\"layers\":{\"path\":1}"), telemetry);
+            assertFalse(telemetry.contains("\"radius\":37"), telemetry);
+
+            String legacyTelemetry = legacy.next(MessageType.RECEIVE_TELEMETRY);
+            assertTrue(legacyTelemetry.contains("\"radius\":37"), legacyTelemetry);
+        }
+
+        long layerMessages = layered.received.stream()
+            .filter(m -> m.getMessage().getType() == MessageType.RECEIVE_CANVAS_LAYER).count();
+        assertEquals(0, layerMessages);
+
+        TelemetryPacket p = new TelemetryPacket();
+        p.layer("path").strokeCircle(0, 0, 38);
+        core.sendTelemetryPacket(p);
+
+        String layer = layered.next(MessageType.RECEIVE_CANVAS_LAYER);
+        assertTrue(layer.contains("\"name\":\"path\""), layer);
+        assertTrue(layer.contains("\"version\":2"), layer);
+        String telemetry = layered.next(MessageType.RECEIVE_TELEMETRY);
+        assertTrue(telemetry.contains("\"layers\":{\"path\":2}"), telemetry);
+    }
+}
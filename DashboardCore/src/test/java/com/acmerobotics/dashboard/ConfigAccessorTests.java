@@ -0,0 +1,187 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.acmerobotics.dashboard.config.PrimitiveValueProvider;
+import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.reflection.ArrayProvider;
+import com.acmerobotics.dashboard.config.reflection.FieldProvider;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ConfigAccessorTests {
+    public static class Gains {
+        public double kP = 0.1;
+        public double kI;
+        public double kD = 0.01;
+        public int maxOutput = 100;
+        public boolean inverted;
+    }
+
+    public static class Constants {
+        public final double kF = 0.5;
+    }
+
+    public static class Values {
+        public static double d = 1.5;
+        public static float f = 2.5f;
+        public static long l = 3;
+        public static String s = "s";
+        public static int[][] grid = {{1, 2}, {3, 4}};
+    }
+
+    @Test
+    void primitiveAccessors() throws NoSuchFieldException {
+        FieldProvider<Double> d = new FieldProvider<>(Values.class.getField("d"), null);
+        assertTrue(d.isPrimitive());
+        assertEquals(Double.doubleToRawLongBits(1.5), d.getBits());
+        d.set(2.0);
+        assertEquals(2.0, Values.d);
+        assertEquals(2.0, d.get());
+
+        FieldProvider<Float> f = new FieldProvider<>(Values.class.getField("f"), null);
+        assertEquals(Float.floatToRawIntBits(2.5f), f.getBits());
+
+        FieldProvider<Long> l = new FieldProvider<>(Values.class.getField("l"), null);
+        l.set(4L);
+        assertEquals(4, l.getBits());
+
+        FieldProvider<String> s = new FieldProvider<>(Values.class.getField("s"), null);
+        assertFalse(s.isPrimitive());
+        s.set("t");
+        assertEquals("t", Values.s);
+
+        ArrayProvider<Integer> cell = new ArrayProvider<>(Values.class.getField("grid"), null, 1, 0);
+        assertTrue(cell.isPrimitive());
+        assertEquals(3, cell.getBits());
+        cell.set(5);
+        assertEquals(5, Values.grid[1][0]);
+
+        ArrayProvider<Integer> missing =
+            new ArrayProvider<>(Values.class.getField("grid"), null, 1, 5);
+        assertEquals(null, missing.get());
+    }
+
+    @Test
+    void finalFieldsStayReadOnly() throws NoSuchFieldException {
+        FieldProvider<Double> kF =
+            new FieldProvider<>(Constants.class.getField("kF"), new Constants());
+        assertEquals(0.5, kF.get());
+        assertThrows(RuntimeException.class, () -> kF.set(1.0));
+        assertEquals(0.5, kF.get());
+    }
+
+    /*
+     * Realistic tree: 100 subsystems with 5 tunables each.
+     */
+    private static List<Gains> createGains() {
+        List<Gains> gains = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            gains.add(new Gains());
+        }
+        return gains;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void readingBitsDoesNotAllocate() throws IllegalAccessException {
+        com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+
+        List<Gains> gains = createGains();
+        Field[] fields = Gains.class.getFields();
+        List<Object> parents = new ArrayList<>();
+        List<Field> leafFields = new ArrayList<>();
+        List<PrimitiveValueProvider<?>> providers = new ArrayList<>();
+        for (Gains g : gains) {
+            for (Field field : fields) {
+                parents.add(g);
+                leafFields.add(field);
+                providers.add(new FieldProvider<>(field, g));
+            }
+        }
+        assertEquals(500, providers.size());
+
+        int passes = 20_000;
+        long bitsSum = 0;
+        long allocated = 0;
+        for (int pass = 0; pass < 2 * passes; pass++) {
+            if (pass == passes) {
+                // the first half is warmup
+                allocated = bean.getThreadAllocatedBytes(threadId);
+            }
+            for (int i = 0; i < providers.size(); i++) {
+                bitsSum += providers.get(i).getBits();
+            }
+        }
+        allocated = bean.getThreadAllocatedBytes(threadId) - allocated;
+
+        // reading bits never boxes
+        assertTrue(allocated < passes, "allocated " + allocated + " bytes");
+        assertTrue(bitsSum != 0);
+
+        for (int i = 0; i < providers.size(); i++) {
+            ValueProvider<Object> provider = (ValueProvider<Object>) providers.get(i);
+            assertEquals(leafFields.get(i).get(parents.get(i)), provider.get());
+        }
+    }
+
+    /*
+     * Compares reading the realistic tree through reflection and through accessors. Opt-in since
+     * timings aren't reliable enough to assert on; run with `gradlew :DashboardCore:benchmark`.
+     */
+    @Tag("benchmark")
+    @Test
+    void accessorBenchmark() throws IllegalAccessException {
+        List<Gains> gains = createGains();
+        Field[] fields = Gains.class.getFields();
+        List<Object> parents = new ArrayList<>();
+        List<Field> leafFields = new ArrayList<>();
+        List<PrimitiveValueProvider<?>> providers = new ArrayList<>();
+        for (Gains g : gains) {
+            for (Field field : fields) {
+                parents.add(g);
+                leafFields.add(field);
+                providers.add(new FieldProvider<>(field, g));
+            }
+        }
+        assertEquals(500, providers.size());
+
+        int passes = 20_000;
+        long reflectionSum = 0;
+        long start = 0;
+        for (int pass = 0; pass < 2 * passes; pass++) {
+            if (pass == passes) {
+                start = System.nanoTime();
+            }
+            for (int i = 0; i < leafFields.size(); i++) {
+                reflectionSum += leafFields.get(i).get(parents.get(i)).hashCode();
+            }
+        }
+        double reflectionNs = (System.nanoTime() - start) / (double) passes;
+
+        long bitsSum = 0;
+        for (int pass = 0; pass < 2 * passes; pass++) {
+            if (pass == passes) {
+                start = System.nanoTime();
+            }
+            for (int i = 0; i < providers.size(); i++) {
+                bitsSum += providers.get(i).getBits();
+            }
+        }
+        double accessorNs = (System.nanoTime() - start) / (double) passes;
+
+        System.out.printf("500-field tree read: %.0f ns reflection, %.0f ns accessors "
+            + "(%d, %d)%n", reflectionNs, accessorNs, reflectionSum, bitsSum);
+    }
+}
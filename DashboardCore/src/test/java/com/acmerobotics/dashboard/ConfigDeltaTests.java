@@ -0,0 +1,247 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
+import com.acmerobotics.dashboard.config.variable.BasicVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigSnapshot;
+import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.SetConfigDelta;
+import com.acmerobotics.dashboard.message.redux.SetConfigExpanded;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ConfigDeltaTests {
+    private static class RecordingClient implements SendFun {
+        final BlockingQueue<EncodedMessage> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Message message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            received.add(message);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        JsonObject next(MessageType type) throws InterruptedException {
+            while (true) {
+                EncodedMessage message = received.poll(5, TimeUnit.SECONDS);
+                if (message == null) {
+                    throw new AssertionError("No " + type + " message");
+                }
+                if (message.getMessage().getType() == type) {
+                    return JsonParser.parseString(message.getText()).getAsJsonObject();
+                }
+            }
+        }
+    }
+
+    private static class DoubleProvider implements ValueProvider<Double> {
+        double value;
+
+        @Override
+        public Double get() {
+            return value;
+        }
+
+        @Override
+        public void set(Double value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    void deltasOnlyCarryChangedLeaves() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        DoubleProvider kP = new DoubleProvider();
+        core.addConfigVariable("Drive", "kP", kP);
+
+        RecordingClient legacy = new RecordingClient();
+        core.newSocket(legacy).onOpen();
+
+        RecordingClient client = new RecordingClient();
+        SocketHandler handler = core.newSocket(client);
+        handler.onOpen();
+        handler.onMessage(new SetConfigDelta(true));
+
+        JsonObject full = client.next(MessageType.RECEIVE_CONFIG);
+        int version = full.get("version").getAsInt();
+
+        // unchanged trees aren't sent at all, so this doesn't create a version
+        core.updateConfig();
+
+        kP.value = 0.5;
+        core.addConfigVariable("Drive", "kD", new DoubleProvider());
+
+        JsonObject delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version, delta.get("baseVersion").getAsInt());
+        assertEquals(version + 1, delta.get("version").getAsInt());
+        assertEquals(0, delta.getAsJsonArray("removed").size());
+        assertEquals(2, delta.getAsJsonArray("changed").size());
+        String changed = delta.getAsJsonArray("changed").toString();
+        assertTrue(changed.contains("{\"path\":[\"Drive\",\"kP\"],\"variable\":"
+            + "{\"__type\":\"double\",\"__value\":0.5}}"), changed);
+        assertTrue(changed.contains("[\"Drive\",\"kD\"]"), changed);
+
+        JsonObject legacyFull;
+        do {
+            legacyFull = legacy.next(MessageType.RECEIVE_CONFIG);
+        } while (legacyFull.get("version").getAsInt() != version + 1);
+        assertTrue(legacyFull.toString().contains("\"kD\""), legacyFull.toString());
+
+        core.removeConfigVariable("Drive", "kD");
+        delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version + 1, delta.get("baseVersion").getAsInt());
+        assertEquals("[[\"Drive\",\"kD\"]]", delta.getAsJsonArray("removed").toString());
+        assertEquals(0, delta.getAsJsonArray("changed").size());
+    }
+
+    @Test
+    void batchPublishesOnce() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        core.addConfigVariable("Arm", "kP", new DoubleProvider());
+
+        RecordingClient client = new RecordingClient();
+        SocketHandler handler = core.newSocket(client);
+        handler.onOpen();
+        handler.onMessage(new SetConfigDelta(true));
+        int version = client.next(MessageType.RECEIVE_CONFIG).get("version").getAsInt();
+
+        core.applyConfigBatch(new ConfigBatch()
+            .add("Lift", "kP", new DoubleProvider())
+            .add("Lift", "kI", new DoubleProvider())
+            .add("Lift", "kD", new DoubleProvider())
+            .remove("Lift", "kI")
+            .remove("Arm", "kP")
+            .remove("Missing", "x"));
+
+        JsonObject delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version, delta.get("baseVersion").getAsInt());
+        assertEquals("[[\"Arm\",\"kP\"]]", delta.getAsJsonArray("removed").toString());
+        assertEquals(2, delta.getAsJsonArray("changed").size());
+
+        core.removeConfigVariable("Lift", "kD");
+        delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version + 1, delta.get("baseVersion").getAsInt());
+    }
+
+    public static class SampledVariables {
+        public static double watched = 1.0;
+        public static int unwatched = 1;
+    }
+
+    @Test
+    void expandedValuesChangedByRobotCodeArePublished() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.setConfigSampleInterval(5);
+
+        core.withConfigRoot(root -> root.putVariable("Sampled",
+            ReflectionConfig.createVariableFromClass(SampledVariables.class)));
+        core.addConfigVariable("Other", "x", new DoubleProvider());
+
+        RecordingClient client = new RecordingClient();
+        SocketHandler handler = core.newSocket(client);
+        handler.onOpen();
+        handler.onMessage(new SetConfigDelta(true));
+        int version = client.next(MessageType.RECEIVE_CONFIG).get("version").getAsInt();
+
+        handler.onMessage(new SetConfigExpanded(Arrays.asList(
+            Collections.singletonList("Other"), Arrays.asList("Sampled", "watched"))));
+
+        SampledVariables.unwatched = 2;
+        SampledVariables.watched = 2.5;
+
+        JsonObject delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version, delta.get("baseVersion").getAsInt());
+        assertEquals(0, delta.getAsJsonArray("removed").size());
+        // only the watched leaf is sampled, so the other change isn't published
+        assertEquals("[{\"path\":[\"Sampled\",\"watched\"],\"variable\":"
+            + "{\"__type\":\"double\",\"__value\":2.5}}]",
+            delta.getAsJsonArray("changed").toString());
+
+        // a full update still catches everything else
+        core.updateConfig();
+        delta = client.next(MessageType.RECEIVE_CONFIG_DELTA);
+        assertEquals(version + 1, delta.get("baseVersion").getAsInt());
+        assertTrue(delta.toString().contains("\"__value\":2}"), delta.toString());
+    }
+
+    public static class DiscoveredVariables {
+        public static double gain = 1.5;
+    }
+
+    @Test
+    void addedCategoriesAreCapturedInTheBaseline() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        DoubleProvider kP = new DoubleProvider();
+        kP.value = 0.25;
+        core.addConfigVariable("Discovered", "kP", kP);
+
+        CustomVariable category = ReflectionConfig.createVariableFromClass(DiscoveredVariables.class);
+        core.addConfigCategories(Collections.singletonMap("Discovered", category));
+        DiscoveredVariables.gain = 3.0;
+
+        RecordingClient client = new RecordingClient();
+        core.newSocket(client).onOpen();
+        JsonObject discovered = client.next(MessageType.RECEIVE_CONFIG_BASELINE)
+            .getAsJsonObject("configBaseline").getAsJsonObject("__value")
+            .getAsJsonObject("Discovered").getAsJsonObject("__value");
+        // the category is merged with the variable added before it, at its discovered value
+        assertEquals(1.5, discovered.getAsJsonObject("gain").get("__value").getAsDouble());
+        assertEquals(0.25, discovered.getAsJsonObject("kP").get("__value").getAsDouble());
+    }
+
+    @Test
+    void snapshotsOnlyRevisitChangedBranches() {
+        CustomVariable root = new CustomVariable();
+        DoubleProvider kP = new DoubleProvider();
+        root.putVariable("Drive", new CustomVariable());
+        ((CustomVariable) root.getVariable("Drive")).putVariable("kP", new BasicVariable<>(kP));
+        root.putVariable("Arm", ReflectionConfig.createVariableFromClass(DiscoveredVariables.class));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.empty();
+        assertEquals(2, snapshot.update(ConfigVariableSerializer.toJsonTree(root))
+            .getChanged().size());
+        JsonElement arm = ConfigVariableSerializer.toJsonTree(root.getVariable("Arm"));
+
+        kP.value = 2.0;
+        ConfigSnapshot.Diff diff = snapshot.update(ConfigVariableSerializer.toJsonTree(root));
+        assertEquals(Collections.singleton(Arrays.asList("Drive", "kP")),
+            diff.getChanged().keySet());
+        // the unchanged category is reused as is
+        assertSame(arm, ConfigVariableSerializer.toJsonTree(root.getVariable("Arm")));
+
+        root.removeVariable("Drive");
+        diff = snapshot.update(ConfigVariableSerializer.toJsonTree(root));
+        assertEquals(Collections.singletonList(Arrays.asList("Drive", "kP")), diff.getRemoved());
+        assertTrue(diff.getChanged().isEmpty());
+        assertTrue(snapshot.update(ConfigVariableSerializer.toJsonTree(root)).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class LatestValueTests {
+    @Test
+    void readersSkipToLatest() throws InterruptedException {
+        LatestValue<Integer> latest = new LatestValue<>();
+        latest.publish(0);
+
+        LatestValue<Integer>.Reader a = latest.newReader();
+        LatestValue<Integer>.Reader b = latest.newReader();
+        // readers only see values published after they were created
+        assertNull(a.poll());
+
+        latest.publish(1);
+        latest.publish(2);
+        assertEquals(2, (int) a.poll());
+        assertNull(a.poll());
+
+        latest.publish(3);
+        assertEquals(3, (int) a.next(0));
+        assertEquals(3, (int) b.next(0));
+        assertNull(b.next(10));
+        assertEquals(4, latest.getSequence());
+    }
+
+    @Test
+    void nextWaitsForProducer() throws InterruptedException {
+        LatestValue<String> latest = new LatestValue<>();
+        LatestValue<String>.Reader reader = latest.newReader();
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<String> received = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                started.countDown();
+                received.set(reader.next(5000));
+            } catch (InterruptedException ignored) {
+
+            }
+        });
+        consumer.start();
+
+        started.await();
+        latest.publish("frame");
+        consumer.join(5000);
+        assertEquals("frame", received.get());
+
+        latest.close();
+        assertNull(reader.next(5000));
+    }
+}
@@ -0,0 +1,131 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.acmerobotics.dashboard.message.BinaryMessageCodec;
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.redux.ReceiveConfig;
+import com.acmerobotics.dashboard.message.redux.ReceiveImage;
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+public class MessageCodecTests {
+    @Test
+    @SuppressWarnings("unchecked")
+    void binaryTelemetryRoundTrip() {
+        TelemetryPacket p = new TelemetryPacket(false);
+        p.put("x", 1.5);
+        p.put("s", (Object) "str");
+        p.addLine("hello");
+        p.fieldOverlay().strokePolyline(new double[] {0, 1.5}, new double[] {0.1, 2});
+
+        EncodedMessage encoded = DashboardCore.BINARY_CODEC.encode(
+            new ReceiveTelemetry(Collections.singletonList(p)));
+        assertTrue(encoded.isBinary());
+
+        Map<String, Object> message = (Map<String, Object>) BinaryMessageCodec.decode(
+            encoded.getPayload());
+        assertEquals("RECEIVE_TELEMETRY", message.get("type"));
+
+        Map<String, Object> packet =
+            ((List<Map<String, Object>>) message.get("telemetry")).get(0);
+        Map<String, Object> data = (Map<String, Object>) packet.get("data");
+        assertEquals("str", data.get("s"));
+        // primitive values are sent unformatted
+        assertEquals(1.5f, data.get("x"));
+        assertEquals(Collections.singletonList("hello"), packet.get("log"));
+
+        Map<String, Object> overlay = (Map<String, Object>) packet.get("fieldOverlay");
+        Map<String, Object> polyline = ((List<Map<String, Object>>) overlay.get("ops")).get(0);
+        assertEquals("polyline", polyline.get("type"));
+        // exactly representable values are narrowed to float32
+        assertArrayEquals(new float[] {0, 1.5f}, (float[]) polyline.get("xPoints"));
+        assertArrayEquals(new double[] {0.1, 2}, (double[]) polyline.get("yPoints"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void imagesCarryRawBytes() {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, (byte) 0xD9};
+        ReceiveImage image = new ReceiveImage(jpeg, 7, 1234567890123L, 640, 480);
+
+        byte[] payload = DashboardCore.BINARY_CODEC.encode(image).getPayload();
+        Map<String, Object> binary = (Map<String, Object>) BinaryMessageCodec.decode(payload);
+        assertArrayEquals(jpeg, (byte[]) binary.get("imageBytes"));
+        assertEquals(ReceiveImage.DEFAULT_CHANNEL, binary.get("channel"));
+        assertEquals(7L, binary.get("frameId"));
+        assertEquals(1234567890123L, binary.get("timestamp"));
+        assertEquals(640L, binary.get("width"));
+        assertEquals(480L, binary.get("height"));
+        // the header is small and the JPEG ends the frame
+        assertTrue(payload.length < jpeg.length + 128, String.valueOf(payload.length));
+        assertArrayEquals(jpeg, Arrays.copyOfRange(payload, payload.length - jpeg.length,
+            payload.length));
+
+        EncodedMessage json = DashboardCore.JSON_CODEC.encode(image);
+        assertFalse(json.isBinary());
+        assertEquals("{\"type\":\"RECEIVE_IMAGE\",\"imageString\":\"/9gBAv/Z\"}", json.getText());
+    }
+
+    private static String imageString(byte[] bytes) {
+        String text = DashboardCore.JSON_CODEC.encode(new ReceiveImage(bytes, 0, 0, 0, 0))
+            .getText();
+        return DashboardCore.GSON.fromJson(text, Map.class).get("imageString").toString();
+    }
+
+    @Test
+    void imageStringMatchesReferenceBase64() throws IOException {
+        // every padding case
+        for (int length = 0; length <= 4; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (0xFF - 37 * i);
+            }
+            assertEquals(Base64.getEncoder().encodeToString(bytes), imageString(bytes),
+                "length " + length);
+        }
+
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, x * 4 << 16 | y * 5 << 8 | (x ^ y) * 4);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(ImageIO.write(image, "jpg", out));
+        byte[] jpeg = out.toByteArray();
+        assertEquals(Base64.getEncoder().encodeToString(jpeg), imageString(jpeg));
+    }
+
+    @Test
+    void otherMessagesStayJson() {
+        EncodedMessage encoded =
+            DashboardCore.BINARY_CODEC.encode(new ReceiveConfig(new CustomVariable()));
+        assertFalse(encoded.isBinary());
+        assertTrue(encoded.getText().contains("\"type\":\"RECEIVE_CONFIG\""));
+    }
+
+    @Test
+    void subprotocolNegotiation() {
+        assertSame(DashboardCore.JSON_CODEC, DashboardCore.codecForSubprotocols(null));
+        assertSame(DashboardCore.BINARY_CODEC,
+            DashboardCore.codecForSubprotocols(BinaryMessageCodec.SUBPROTOCOL + ", other"));
+        assertSame(DashboardCore.JSON_CODEC,
+            DashboardCore.codecForSubprotocols("other, " + BinaryMessageCodec.SUBPROTOCOL));
+    }
+}
@@ -0,0 +1,53 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Test;
+
+public class MjpegStreamTests {
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    private static String readPart(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[7];
+        do {
+            int n = in.read(buf, 0, buf.length);
+            out.write(buf, 0, n);
+        } while (in.available() > 0);
+        return new String(out.toByteArray(), US_ASCII);
+    }
+
+    @Test
+    void viewersSkipToLatestFrame() throws IOException {
+        MjpegStream stream = new MjpegStream();
+        // nobody is watching, so the frame is dropped
+        stream.publish("old".getBytes(US_ASCII));
+
+        InputStream b = stream.newViewerStream();
+        stream.publish("one".getBytes(US_ASCII));
+
+        InputStream a = stream.newViewerStream();
+        assertEquals(2, stream.getViewerCount());
+
+        String part = "--" + MjpegStream.BOUNDARY
+            + "\r\nContent-Type: image/jpeg\r\nContent-Length: 3\r\n\r\none\r\n";
+        // new viewers start with the current frame
+        assertEquals(part, readPart(a));
+
+        stream.publish("two".getBytes(US_ASCII));
+        stream.publish("three".getBytes(US_ASCII));
+        assertEquals(part.replace("3", "5").replace("one", "three"), readPart(a));
+        assertEquals(part.replace("3", "5").replace("one", "three"), readPart(b));
+
+        a.close();
+        a.close();
+        assertEquals(1, stream.getViewerCount());
+
+        stream.close();
+        assertEquals(-1, b.read());
+    }
+}
@@ -0,0 +1,105 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+public class PerMessageDeflateTests {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String MESSAGE =
+        "{\"type\":\"RECEIVE_TELEMETRY\",\"telemetry\":[{\"data\":{\"x\":\"1.0\",\"y\":\"2.0\"}}]}";
+
+    @Test
+    void negotiation() {
+        assertNull(PerMessageDeflate.negotiate(null, Deflater.BEST_SPEED));
+        assertNull(PerMessageDeflate.negotiate("permessage-deflate", Deflater.NO_COMPRESSION));
+        assertNull(PerMessageDeflate.negotiate("permessage-deflate; server_max_window_bits=10",
+            Deflater.BEST_SPEED));
+
+        PerMessageDeflate deflate = PerMessageDeflate.negotiate(
+            "permessage-deflate; server_max_window_bits=10, "
+                + "permessage-deflate; client_max_window_bits; server_no_context_takeover",
+            Deflater.BEST_SPEED);
+        assertNotNull(deflate);
+        assertEquals("permessage-deflate; server_no_context_takeover",
+            deflate.getResponseHeader());
+    }
+
+    @Test
+    void contextTakeoverRoundTrip() throws IOException {
+        PerMessageDeflate server = PerMessageDeflate.negotiate("permessage-deflate",
+            Deflater.BEST_SPEED);
+        PerMessageDeflate client = PerMessageDeflate.negotiate("permessage-deflate",
+            Deflater.BEST_SPEED);
+
+        byte[] payload = MESSAGE.getBytes(UTF_8);
+        byte[] first = server.compress(payload);
+        byte[] second = server.compress(payload);
+        // the second copy refers back to the first
+        assertTrue(second.length < first.length);
+
+        assertArrayEquals(payload, client.decompress(first));
+        assertArrayEquals(payload, client.decompress(second));
+    }
+
+    @Test
+    void inflatingStreamRewritesCompressedFrames() throws IOException {
+        PerMessageDeflate server = PerMessageDeflate.negotiate("permessage-deflate",
+            Deflater.BEST_SPEED);
+        PerMessageDeflate client = PerMessageDeflate.negotiate("permessage-deflate",
+            Deflater.BEST_SPEED);
+
+        byte[] payload = MESSAGE.getBytes(UTF_8);
+        byte[] compressed = client.compress(payload);
+        byte[] mask = {1, 2, 3, 4};
+
+        // masked text frame with RSV1 set, followed by an uncompressed ping
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        wire.write(0x80 | 0x40 | 0x1);
+        wire.write(0x80 | compressed.length);
+        wire.write(mask);
+        for (int i = 0; i < compressed.length; i++) {
+            wire.write(compressed[i] ^ mask[i % 4]);
+        }
+        wire.write(0x80 | 0x9);
+        wire.write(0);
+
+        InputStream in = server.inflatingStream(new ByteArrayInputStream(wire.toByteArray()));
+
+        assertEquals(0x81, in.read());
+        assertEquals(payload.length, in.read());
+        byte[] text = new byte[payload.length];
+        int read = 0;
+        while (read < text.length) {
+            read += in.read(text, read, text.length - read);
+        }
+        assertArrayEquals(payload, text);
+
+        assertEquals(0x89, in.read());
+        assertEquals(0, in.read());
+    }
+
+    @Test
+    void serverFrames() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] payload = new byte[300];
+        PerMessageDeflate.writeFrame(out, 0x2, true, payload);
+
+        byte[] frame = out.toByteArray();
+        assertArrayEquals(new byte[] {(byte) 0xC2, 126, 1, 44},
+            Arrays.copyOf(frame, 4));
+        assertEquals(4 + payload.length, frame.length);
+    }
+}
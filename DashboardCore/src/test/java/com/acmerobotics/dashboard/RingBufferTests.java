@@ -0,0 +1,97 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTests {
+    private static RingBuffer<Integer> filled(RingBuffer.DropPolicy policy, int count) {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4, policy);
+        for (int i = 0; i < count; i++) {
+            buffer.offer(i);
+        }
+        return buffer;
+    }
+
+    private static List<Integer> drain(RingBuffer<Integer> buffer) {
+        List<Integer> out = new ArrayList<>();
+        buffer.drainTo(out);
+        return out;
+    }
+
+    @Test
+    void capacityRoundsUp() {
+        assertEquals(128, new RingBuffer<Integer>(101, RingBuffer.DropPolicy.DROP_NEWEST)
+            .capacity());
+    }
+
+    @Test
+    void dropNewest() {
+        RingBuffer<Integer> buffer = filled(RingBuffer.DropPolicy.DROP_NEWEST, 4);
+        assertFalse(buffer.offer(4));
+        assertEquals(1, buffer.getDropCount());
+        assertEquals(Arrays.asList(0, 1, 2, 3), drain(buffer));
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void dropOldest() {
+        RingBuffer<Integer> buffer = filled(RingBuffer.DropPolicy.DROP_OLDEST, 6);
+        assertEquals(2, buffer.getDropCount());
+        assertEquals(Arrays.asList(2, 3, 4, 5), drain(buffer));
+    }
+
+    @Test
+    void coalesceLatest() {
+        RingBuffer<Integer> buffer = filled(RingBuffer.DropPolicy.COALESCE_LATEST, 7);
+        assertEquals(2, buffer.getDropCount());
+        assertEquals(5, buffer.size());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 6), drain(buffer));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64, RingBuffer.DropPolicy.DROP_NEWEST);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer item = buffer.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            assertTrue(seen.add(item), "duplicate item " + item);
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertTrue(buffer.isEmpty());
+    }
+}
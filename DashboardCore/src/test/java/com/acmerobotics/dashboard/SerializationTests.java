@@ -1,11 +1,19 @@
 package com.acmerobotics.dashboard;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
 import com.acmerobotics.dashboard.config.variable.BasicVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariable;
+import com.acmerobotics.dashboard.config.variable.ConfigVariableSerializer;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import java.lang.reflect.Type;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -91,5 +99,100 @@ public class SerializationTests {
         assertSerDeIdentity(ReflectionConfig.createVariableFromClass(NullVariables.class));
     }
 
-}
+    public static class SnapshotVariables {
+        public static double a = 1.0;
+        public static String b = "b";
+        public static RobotStatus.OpModeStatus c = RobotStatus.OpModeStatus.INIT;
+        public static Pair d = new Pair();
+    }
+
+    @Test
+    void snapshotMatchesRoundTrip() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(SnapshotVariables.class);
+        CustomVariable snapshot = cv.snapshot();
+        assertTrue(varEquals(DashboardCore.GSON.fromJson(DashboardCore.GSON.toJson(cv),
+            CustomVariable.class), snapshot));
+
+        SnapshotVariables.a = 2.0;
+        assertEquals(1.0, snapshot.getVariable("a").getValue());
+    }
+
+    public static class CachedVariables {
+        public static double a = 1.0;
+        public static Pair b = new Pair();
+    }
 
+    private static JsonObject values(JsonObject obj) {
+        return obj.getAsJsonObject(ConfigVariable.VALUE_KEY);
+    }
+
+    private static final JsonSerializationContext CONTEXT = new JsonSerializationContext() {
+        @Override
+        public JsonElement serialize(Object src) {
+            return DashboardCore.GSON.toJsonTree(src);
+        }
+
+        @Override
+        public JsonElement serialize(Object src, Type typeOfSrc) {
+            return DashboardCore.GSON.toJsonTree(src, typeOfSrc);
+        }
+    };
+
+    private static JsonObject serialize(ConfigVariableSerializer serializer, CustomVariable cv) {
+        return serializer.serialize(cv, CustomVariable.class, CONTEXT).getAsJsonObject();
+    }
+
+    @Test
+    void unchangedSubtreesReuseCachedJson() {
+        ConfigVariableSerializer serializer = new ConfigVariableSerializer();
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(CachedVariables.class);
+        JsonObject first = serialize(serializer, cv);
+        assertSame(first, serialize(serializer, cv));
+
+        CachedVariables.a = 2.0;
+        JsonObject second = serialize(serializer, cv);
+        assertNotSame(first, second);
+        assertEquals(2.0, values(second).getAsJsonObject("a").get(ConfigVariable.VALUE_KEY)
+            .getAsDouble());
+        // the untouched sibling is reused as is
+        assertSame(values(first).get("b"), values(second).get("b"));
+
+        cv.putVariable("c", cv.getVariable("a"));
+        JsonObject third = serialize(serializer, cv);
+        assertTrue(values(third).has("c"));
+        assertTrue(varEquals(DashboardCore.GSON.fromJson(DashboardCore.GSON.toJson(cv),
+            CustomVariable.class), cv));
+    }
+
+    public enum Mode {
+        SLOW,
+        @Deprecated
+        LEGACY,
+        FAST {
+            @Override
+            public String toString() {
+                return "FAST";
+            }
+        }
+    }
+
+    public static class EnumVariables {
+        public static Mode a = Mode.SLOW;
+        public static Mode b = Mode.FAST;
+    }
+
+    @Test
+    void enumMetadataIsShared() {
+        CustomVariable cv = ReflectionConfig.createVariableFromClass(EnumVariables.class);
+        JsonObject values = values(serialize(new ConfigVariableSerializer(), cv));
+        JsonObject a = values.getAsJsonObject("a");
+        JsonObject b = values.getAsJsonObject("b");
+
+        assertEquals("[\"SLOW\",\"FAST\"]", a.get(ConfigVariable.ENUM_VALUES_KEY).toString());
+        assertSame(a.get(ConfigVariable.ENUM_VALUES_KEY), b.get(ConfigVariable.ENUM_VALUES_KEY));
+        // constants with bodies report their enum rather than the anonymous subclass
+        assertEquals(Mode.class.getName(), b.get(ConfigVariable.ENUM_CLASS_KEY).getAsString());
+
+        assertSerDeIdentity(cv);
+    }
+}
@@ -0,0 +1,122 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.message.EncodedMessage;
+import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageType;
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetryDelta;
+import com.acmerobotics.dashboard.message.redux.SetTelemetryDelta;
+import com.acmerobotics.dashboard.telemetry.TelemetryDeltaEncoder;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class TelemetryDeltaTests {
+    private static class RecordingClient implements SendFun {
+        final BlockingQueue<EncodedMessage> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Message message) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            received.add(message);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        String next(MessageType type) throws InterruptedException {
+            while (true) {
+                EncodedMessage message = received.poll(5, TimeUnit.SECONDS);
+                if (message == null) {
+                    throw new AssertionError("No " + type + " message");
+                }
+                if (message.getMessage().getType() == type) {
+                    return message.getText();
+                }
+            }
+        }
+    }
+
+    private static TelemetryPacket packet(Object... keyValues) {
+        TelemetryPacket p = new TelemetryPacket(false);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            p.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return p;
+    }
+
+    @Test
+    void onlyChangedKeysAndTombstones() {
+        TelemetryDeltaEncoder encoder = new TelemetryDeltaEncoder(10);
+
+        ReceiveTelemetryDelta first = encoder.encode(
+            Collections.singletonList(packet("x", 1, "y", 2, "z", 3)));
+        assertTrue(first.isKeyframe());
+        assertEquals(3, first.getTelemetry().get(0).getData().size());
+
+        ReceiveTelemetryDelta second = encoder.encode(Arrays.asList(
+            packet("x", 1, "y", 5, "z", 3),
+            packet("x", 1, "y", 5)));
+        assertFalse(second.isKeyframe());
+        assertEquals(Collections.singletonMap("y", "5"),
+            second.getTelemetry().get(0).getData());
+        assertTrue(second.getTelemetry().get(1).getData().isEmpty());
+        assertEquals(Collections.singletonList("z"), second.getTelemetry().get(1).getRemoved());
+    }
+
+    @Test
+    void periodicAndRequestedKeyframes() {
+        TelemetryDeltaEncoder encoder = new TelemetryDeltaEncoder(2);
+
+        assertTrue(encoder.encode(Collections.singletonList(packet("x", 1))).isKeyframe());
+        assertFalse(encoder.encode(Collections.singletonList(packet("x", 1))).isKeyframe());
+        assertFalse(encoder.encode(Collections.singletonList(packet("x", 1))).isKeyframe());
+
+        ReceiveTelemetryDelta keyframe = encoder.encode(Collections.singletonList(packet("x", 1)));
+        assertTrue(keyframe.isKeyframe());
+        assertEquals(Collections.singletonMap("x", "1"), keyframe.getTelemetry().get(0).getData());
+
+        encoder.requestKeyframe();
+        assertTrue(encoder.encode(Collections.singletonList(packet("x", 1))).isKeyframe());
+    }
+
+    @Test
+    void extrasRideAlongWithPackets() throws InterruptedException {
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+
+        RecordingClient client = new RecordingClient();
+        SocketHandler handler = core.newSocket(client);
+        handler.onOpen();
+        handler.onMessage(new SetTelemetryDelta(true));
+
+        core.putTelemetryExtras(Collections.singletonMap("Camera/FPS", 30));
+        core.sendTelemetryPacket(packet("x", 1));
+        String first = client.next(MessageType.RECEIVE_TELEMETRY_DELTA);
+        assertTrue(first.contains("\"Camera/FPS\":\"30\""), first);
+        assertTrue(first.contains("\"x\":\"1\""), first);
+
+        // unchanged extras are neither repeated nor removed by the next packet
+        core.sendTelemetryPacket(packet("x", 2));
+        String second = client.next(MessageType.RECEIVE_TELEMETRY_DELTA);
+        assertFalse(second.contains("Camera/FPS"), second);
+        assertTrue(second.contains("\"x\":\"2\""), second);
+
+        core.removeTelemetryExtras(Collections.singleton("Camera/FPS"));
+        core.sendTelemetryPacket(packet("x", 3));
+        String third = client.next(MessageType.RECEIVE_TELEMETRY_DELTA);
+        assertTrue(third.contains("Camera/FPS"), third);
+    }
+}
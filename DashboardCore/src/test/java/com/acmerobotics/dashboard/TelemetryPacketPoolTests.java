@@ -0,0 +1,96 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacketPool;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class TelemetryPacketPoolTests {
+    private static final String[] KEYS = new String[60];
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = "key" + i;
+        }
+    }
+
+    @Test
+    void recycledPacketsAreReset() {
+        TelemetryPacketPool pool = new TelemetryPacketPool(4, true);
+        TelemetryPacket p = pool.acquire();
+        int defaultOps = p.field().getOperations().size();
+
+        p.put("x", 1.0);
+        p.put("y", (Object) "y");
+        p.addLine("line");
+        p.field().strokeLine(0, 0, 1, 1);
+        p.fieldOverlay().strokeLine(0, 0, 1, 1);
+
+        TelemetryPacketPool.recycle(p);
+        TelemetryPacketPool.recycle(p);
+        assertEquals(1, pool.size());
+
+        TelemetryPacket q = pool.acquire();
+        assertSame(p, q);
+        assertEquals(0, q.getDataSize());
+        assertTrue(q.getLog().isEmpty());
+        assertEquals(defaultOps, q.field().getOperations().size());
+        assertTrue(q.fieldOverlay().getOperations().isEmpty());
+
+        assertNotSame(q, pool.acquire());
+    }
+
+    /*
+     * Bytes allocated by the producing thread per loop with 60 numeric values.
+     */
+    private static double bytesPerUpdate(DashboardCore core, Supplier<TelemetryPacket> packets)
+        throws InterruptedException {
+        com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int updates = 500;
+        long before = 0;
+        for (int i = 0; i < 2 * updates; i++) {
+            if (i == updates) {
+                // the first half is warmup
+                before = bean.getThreadAllocatedBytes(threadId);
+            }
+
+            TelemetryPacket p = packets.get();
+            for (int j = 0; j < KEYS.length; j++) {
+                p.put(KEYS[j], j * 0.5);
+            }
+            core.sendTelemetryPacket(p);
+
+            Thread.sleep(1);
+        }
+
+        return (bean.getThreadAllocatedBytes(threadId) - before) / (double) updates;
+    }
+
+    @Test
+    void pooledUpdatesAllocateLess() throws InterruptedException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+        DashboardCore core = new DashboardCore();
+        core.enabled = true;
+        core.setTelemetryTransmissionInterval(0);
+
+        double unpooled = bytesPerUpdate(core, TelemetryPacket::new);
+        TelemetryPacketPool pool = new TelemetryPacketPool();
+        double pooled = bytesPerUpdate(core, pool::acquire);
+
+        assertTrue(pooled < unpooled / 4,
+            "allocated " + pooled + " bytes per update pooled, " + unpooled + " unpooled");
+    }
+}
@@ -0,0 +1,72 @@
+package com.acmerobotics.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.acmerobotics.dashboard.message.BinaryMessageCodec;
+import com.acmerobotics.dashboard.message.redux.ReceiveTelemetry;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class TelemetryPacketTests {
+    @Test
+    void primitivesFormatLikeBoxedValues() {
+        TelemetryPacket p = new TelemetryPacket(false);
+        p.put("double", 0.1);
+        p.put("float", 1.1f);
+        p.put("int", 42);
+        p.put("long", -7L);
+        p.put("boolean", true);
+        p.put("char", 'c');
+
+        Map<String, String> data = p.getData();
+        assertEquals(Double.valueOf(0.1).toString(), data.get("double"));
+        assertEquals(Float.valueOf(1.1f).toString(), data.get("float"));
+        assertEquals("42", data.get("int"));
+        assertEquals("-7", data.get("long"));
+        assertEquals("true", data.get("boolean"));
+        assertEquals("c", data.get("char"));
+    }
+
+    @Test
+    void laterPutsReplaceEarlierOnes() {
+        TelemetryPacket p = new TelemetryPacket(false);
+        p.put("a", 1.0);
+        p.put("a", (Object) "text");
+        p.put("b", (Object) "text");
+        p.put("b", 2.0);
+        p.put("b", 3.0);
+
+        assertEquals(2, p.getDataSize());
+        assertEquals("text", p.getData().get("a"));
+        assertEquals("3.0", p.getData().get("b"));
+    }
+
+    @Test
+    void jsonIncludesPrimitives() {
+        TelemetryPacket p = new TelemetryPacket(false);
+        p.put("x", 2.5);
+
+        String json = DashboardCore.GSON.toJson(new ReceiveTelemetry(Collections.singletonList(p)));
+        assertTrue(json.contains("\"data\":{\"x\":\"2.5\"}"), json);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void encodingDoesNotFormatPrimitivesInPlace() {
+        TelemetryPacket p = new TelemetryPacket(false);
+        p.put("x", 2.5);
+        ReceiveTelemetry message = new ReceiveTelemetry(Collections.singletonList(p));
+
+        // a text client encoded first must not turn the value into a string for binary clients
+        DashboardCore.JSON_CODEC.encode(message);
+        Map<String, Object> binary = (Map<String, Object>) BinaryMessageCodec.decode(
+            DashboardCore.BINARY_CODEC.encode(message).getPayload());
+        Map<String, Object> packet =
+            ((List<Map<String, Object>>) binary.get("telemetry")).get(0);
+        assertEquals(2.5f, ((Map<String, Object>) packet.get("data")).get("x"));
+    }
+}
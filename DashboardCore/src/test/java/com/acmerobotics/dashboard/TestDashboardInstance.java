@@ -1,7 +1,9 @@
 package com.acmerobotics.dashboard;
 
 import com.acmerobotics.dashboard.config.ValueProvider;
+import com.acmerobotics.dashboard.message.EncodedMessage;
 import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageCodec;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
 import com.acmerobotics.dashboard.message.redux.ReceiveHardwareConfigList;
 import com.acmerobotics.dashboard.message.redux.ReceiveOpModeList;
@@ -13,6 +15,10 @@ import com.acmerobotics.dashboard.testopmode.TestOpModeManager;
 import fi.iki.elonen.NanoHTTPD;
 import fi.iki.elonen.NanoWSD;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,18 +47,87 @@ public class TestDashboardInstance {
         }
     };
 
+    /*
+     * Substitutes the input stream of a handshake session, which the web socket reads frames from.
+     */
+    private static NanoHTTPD.IHTTPSession withInputStream(NanoHTTPD.IHTTPSession session,
+                                                          InputStream in) {
+        return (NanoHTTPD.IHTTPSession) Proxy.newProxyInstance(
+                NanoHTTPD.IHTTPSession.class.getClassLoader(),
+                new Class<?>[] { NanoHTTPD.IHTTPSession.class },
+                (proxy, method, args) -> {
+                    if ("getInputStream".equals(method.getName())) {
+                        return in;
+                    }
+                    try {
+                        return method.invoke(session, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
     private class DashWebSocket extends NanoWSD.WebSocket implements SendFun {
-        final SocketHandler sh = core.newSocket(this);
+        final MessageCodec codec = DashboardCore.codecForSubprotocols(
+            getHandshakeRequest().getHeaders().get(NanoWSD.HEADER_WEBSOCKET_PROTOCOL));
+        final SocketHandler sh = core.newSocket(this, codec);
+
+        // null unless the client negotiated compression
+        private final PerMessageDeflate deflate;
 
         public DashWebSocket(NanoHTTPD.IHTTPSession handshakeRequest) {
-            super(handshakeRequest);
+            this(handshakeRequest, PerMessageDeflate.negotiate(
+                handshakeRequest.getHeaders().get(PerMessageDeflate.HEADER_WEBSOCKET_EXTENSIONS),
+                core.getCompressionLevel()));
+        }
+
+        private DashWebSocket(NanoHTTPD.IHTTPSession handshakeRequest,
+                              PerMessageDeflate deflate) {
+            super(deflate == null ? handshakeRequest : withInputStream(handshakeRequest,
+                deflate.inflatingStream(handshakeRequest.getInputStream())));
+
+            this.deflate = deflate;
+            if (deflate != null) {
+                getHandshakeResponse().addHeader(PerMessageDeflate.HEADER_WEBSOCKET_EXTENSIONS,
+                    deflate.getResponseHeader());
+            }
         }
 
         @Override
         public void send(Message message) {
+            send(codec.encode(message));
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            try {
+                NanoWSD.WebSocketFrame.OpCode opCode = message.isBinary()
+                    ? NanoWSD.WebSocketFrame.OpCode.Binary : NanoWSD.WebSocketFrame.OpCode.Text;
+                if (deflate != null && deflate.shouldCompress(message)) {
+                    // compress and write atomically so the client inflates in the same order
+                    synchronized (this) {
+                        sendFrame(new NanoWSD.WebSocketFrame(opCode, true,
+                            deflate.compress(message.getPayload())) {
+                            @Override
+                            public void write(OutputStream out) throws IOException {
+                                PerMessageDeflate.writeFrame(out, getOpCode().getValue(), true,
+                                    getBinaryPayload());
+                            }
+                        });
+                    }
+                } else {
+                    sendFrame(new NanoWSD.WebSocketFrame(opCode, true, message.getPayload()));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() {
             try {
-                String messageStr = DashboardCore.GSON.toJson(message);
-                send(messageStr);
+                close(NanoWSD.WebSocketFrame.CloseCode.GoingAway, "Client too slow", false);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -96,6 +171,10 @@ public class TestDashboardInstance {
                                boolean initiatedByRemote) {
             sh.onClose();
 
+            if (deflate != null) {
+                deflate.close();
+            }
+
             opModeManager.clearSendFun();
         }
 
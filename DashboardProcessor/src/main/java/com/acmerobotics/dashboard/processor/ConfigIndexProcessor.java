@@ -0,0 +1,105 @@
+package com.acmerobotics.dashboard.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor that records the classes annotated with {@code @Config} in a generated
+ * index class, {@value #INDEX_CLASS}. The dashboard loads the index at startup instead of
+ * scanning every class in the APK.
+ *
+ * <p>The index class has a fixed name, so the processor should only run in the module containing
+ * the op modes (usually TeamCode). Config classes in other modules aren't indexed.
+ */
+public class ConfigIndexProcessor extends AbstractProcessor {
+    public static final String CONFIG_ANNOTATION = "com.acmerobotics.dashboard.config.Config";
+    public static final String INDEX_CLASS =
+        "com.acmerobotics.dashboard.config.GeneratedConfigIndex";
+
+    /**
+     * Name of the generated {@code String[]} field listing the binary names of the classes.
+     */
+    public static final String INDEX_FIELD = "CLASSES";
+
+    private final Set<String> classNames = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private boolean written;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CONFIG_ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!element.getKind().isClass()) {
+                    continue;
+                }
+
+                TypeElement type = (TypeElement) element;
+                if (written) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Config class generated by another processor isn't indexed", type);
+                    continue;
+                }
+                classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+                originatingElements.add(type);
+            }
+        }
+
+        // the index is written as soon as possible so that it is compiled like any other source
+        if (!written && !classNames.isEmpty()) {
+            writeIndex();
+            written = true;
+        }
+
+        return false;
+    }
+
+    private void writeIndex() {
+        int split = INDEX_CLASS.lastIndexOf('.');
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(INDEX_CLASS, 0, split).append(";\n\n");
+        sb.append("// Generated by ").append(getClass().getName()).append(". Do not edit.\n");
+        sb.append("public final class ").append(INDEX_CLASS.substring(split + 1)).append(" {\n");
+        sb.append("    public static final String[] ").append(INDEX_FIELD).append(" = {\n");
+        for (String className : classNames) {
+            sb.append("        \"").append(className).append("\",\n");
+        }
+        sb.append("    };\n\n");
+        sb.append("    private ").append(INDEX_CLASS.substring(split + 1)).append("() {\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(INDEX_CLASS,
+                originatingElements.toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Failed to write config index: " + e);
+        }
+    }
+}
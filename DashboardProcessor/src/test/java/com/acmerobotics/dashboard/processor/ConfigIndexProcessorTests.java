@@ -0,0 +1,88 @@
+package com.acmerobotics.dashboard.processor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigIndexProcessorTests {
+    @TempDir
+    Path dir;
+
+    private void write(String path, String source) throws IOException {
+        Path file = dir.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path out = Files.createDirectories(dir.resolve("out"));
+
+        List<File> sources = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(dir.resolve("src"))) {
+            files.filter(p -> p.toString().endsWith(".java"))
+                .forEach(p -> sources.add(p.toFile()));
+        }
+
+        try (StandardJavaFileManager fileManager =
+                 compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-d", out.toString()), null,
+                fileManager.getJavaFileObjectsFromFiles(sources));
+            task.setProcessors(Collections.singletonList(new ConfigIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    @Test
+    void indexesAnnotatedClasses() throws Exception {
+        write("com/acmerobotics/dashboard/config/Config.java",
+            "package com.acmerobotics.dashboard.config;\n"
+                + "public @interface Config { String value() default \"\"; }\n");
+        write("teamcode/Drive.java",
+            "package teamcode;\n"
+                + "import com.acmerobotics.dashboard.config.Config;\n"
+                + "@Config public class Drive {\n"
+                + "    public static double kP;\n"
+                + "    @Config(\"Nested\") static class Gains { }\n"
+                + "}\n");
+        write("teamcode/Plain.java", "package teamcode;\nclass Plain { }\n");
+
+        assertTrue(compile());
+
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {dir.resolve("out").toUri().toURL()})) {
+            Class<?> index = loader.loadClass(ConfigIndexProcessor.INDEX_CLASS);
+            String[] classes = (String[]) index.getField(ConfigIndexProcessor.INDEX_FIELD)
+                .get(null);
+            assertArrayEquals(new String[] {"teamcode.Drive", "teamcode.Drive$Gains"}, classes);
+        }
+    }
+
+    @Test
+    void noIndexWithoutConfigClasses() throws Exception {
+        write("teamcode/Plain.java", "package teamcode;\nclass Plain { }\n");
+
+        assertTrue(compile());
+        assertFalse(new File(dir.resolve("out").toFile(),
+            ConfigIndexProcessor.INDEX_CLASS.replace('.', '/') + ".class").exists());
+    }
+}
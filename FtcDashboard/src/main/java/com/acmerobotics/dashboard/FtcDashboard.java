@@ -7,19 +7,22 @@ import android.content.SharedPreferences;
 import android.content.res.AssetManager;
 import android.graphics.Bitmap;
 import android.graphics.Typeface;
-import android.util.Base64;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import com.acmerobotics.dashboard.canvas.Canvas;
 import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.config.ConfigDiscoveryMetrics;
 import com.acmerobotics.dashboard.config.ValueProvider;
 import com.acmerobotics.dashboard.config.reflection.ReflectionConfig;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
 import com.acmerobotics.dashboard.limelight.LimelightProxyManager;
 import com.acmerobotics.dashboard.OpModeInfo;
+import com.acmerobotics.dashboard.message.EncodedMessage;
 import com.acmerobotics.dashboard.message.Message;
+import com.acmerobotics.dashboard.message.MessageCodec;
 import com.acmerobotics.dashboard.message.redux.DeleteHardwareConfig;
 import com.acmerobotics.dashboard.message.redux.InitOpMode;
 import com.acmerobotics.dashboard.message.redux.ReceiveGamepadState;
@@ -31,6 +34,7 @@ import com.acmerobotics.dashboard.message.redux.ReceiveRobotStatus;
 import com.acmerobotics.dashboard.message.redux.SetHardwareConfig;
 import com.acmerobotics.dashboard.message.redux.WriteHardwareConfig;
 import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacketPool;
 import com.qualcomm.ftccommon.FtcEventLoop;
 import com.qualcomm.ftccommon.configuration.RobotConfigFile;
 import com.qualcomm.hardware.limelightvision.Limelight3A;
@@ -60,7 +64,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.net.HttpURLConnection;
@@ -70,13 +76,17 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import org.firstinspires.ftc.ftccommon.external.OnCreate;
 import org.firstinspires.ftc.ftccommon.external.OnCreateEventLoop;
 import org.firstinspires.ftc.ftccommon.external.OnCreateMenu;
@@ -107,6 +117,21 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     private static final String TAG = "FtcDashboard";
 
     private static final int DEFAULT_IMAGE_QUALITY = 50; // 0-100
+    // roughly a 640x480 frame at the default quality, so the encode buffer rarely grows
+    private static final int INITIAL_JPEG_BUFFER_SIZE = 64 * 1024;
+    // the encoder wakes up at this interval to notice the stream stopping
+    private static final int CAMERA_FRAME_TIMEOUT_MS = 250;
+    // capture checks at this interval whether a backlogged channel can take frames again
+    private static final int CAMERA_BACKLOG_POLL_MS = 10;
+    // camera frames are also served as MJPEG on the WebSocket server's port: the default channel
+    // at this path and other channels at /camera/<name>.mjpeg
+    private static final String CAMERA_MJPEG_PATH = "/camera.mjpeg";
+    private static final String CAMERA_CHANNEL_MJPEG_PREFIX = "/camera/";
+    private static final String CAMERA_CHANNEL_MJPEG_SUFFIX = ".mjpeg";
+    // upper frame rate bound of adaptive streams started without a maximum
+    private static final double ADAPTIVE_MAX_FPS = 30;
+    // adaptive stream parameters are sent as telemetry on change and at least this often
+    private static final int CAMERA_TELEMETRY_INTERVAL_MS = 1000;
     private static final int GAMEPAD_WATCHDOG_INTERVAL = 500; // ms
 
     private static boolean suppressOpMode = false;
@@ -207,11 +232,43 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     private DashboardCore core = new DashboardCore();
 
+    // NOTE: channels are never removed so MJPEG viewers outlive stream restarts
+    private final Mutex<Map<String, CameraChannel>> cameraChannels =
+        new Mutex<>(new LinkedHashMap<>());
+
     private NanoWSD server = new NanoWSD(8000) {
         @Override
         protected NanoWSD.WebSocket openWebSocket(NanoHTTPD.IHTTPSession handshake) {
             return new DashWebSocket(handshake);
         }
+
+        @Override
+        protected NanoHTTPD.Response serveHttp(NanoHTTPD.IHTTPSession session) {
+            String channelName = mjpegChannelName(session.getUri());
+            if (session.getMethod() == NanoHTTPD.Method.GET && channelName != null) {
+                if (!core.enabled) {
+                    return NanoHTTPD.newFixedLengthResponse(
+                        NanoHTTPD.Response.Status.SERVICE_UNAVAILABLE,
+                        NanoHTTPD.MIME_PLAINTEXT, "");
+                }
+
+                CameraChannel channel = cameraChannels.with(m -> {
+                    return m.get(channelName);
+                });
+                if (channel == null) {
+                    return NanoHTTPD.newFixedLengthResponse(
+                        NanoHTTPD.Response.Status.NOT_FOUND, NanoHTTPD.MIME_PLAINTEXT, "");
+                }
+
+                NanoHTTPD.Response response = NanoHTTPD.newChunkedResponse(
+                    NanoHTTPD.Response.Status.OK, MjpegStream.CONTENT_TYPE,
+                    channel.mjpegStream.newViewerStream());
+                response.addHeader("Cache-Control", "no-cache, no-store");
+                return response;
+            }
+
+            return super.serveHttp(session);
+        }
     };
 
     private SharedPreferences prefs;
@@ -220,12 +277,17 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
 
     private Telemetry telemetry = new TelemetryAdapter();
 
-    private ExecutorService cameraStreamExecutor;
-    private int imageQuality = DEFAULT_IMAGE_QUALITY;
+    // lower bounds for adaptive camera streams or null if adaptation is disabled
+    private volatile AdaptiveBounds adaptiveCameraBounds;
+    private final AtomicLong lastCameraFrameId = new AtomicLong();
 
-    // only modified inside withConfigRoot
+    // NOTE: guarded by itself
     private final List<String[]> varsToRemove = new ArrayList<>();
 
+    private final ConfigDiscoveryMetrics configDiscoveryMetrics = new ConfigDiscoveryMetrics();
+    // only accessed by the config discovery thread
+    private int publishedConfigClasses;
+
     private FtcEventLoop eventLoop;
     private OpModeManagerImpl opModeManager;
 
@@ -516,11 +578,13 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
      * all of the operations yet.
      */
     private class TelemetryAdapter implements Telemetry {
+        // NOTE: packets are handed back by the telemetry thread once they're sent
+        private final TelemetryPacketPool packetPool = new TelemetryPacketPool();
         private TelemetryPacket currentPacket;
         private LogAdapter log;
 
         public TelemetryAdapter() {
-            currentPacket = new TelemetryPacket();
+            currentPacket = packetPool.acquire();
             log = new LogAdapter(currentPacket);
         }
 
@@ -554,8 +618,9 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         public void clear() {
             clearTelemetry();
 
-            currentPacket = new TelemetryPacket();
-            log = new LogAdapter(currentPacket);
+            TelemetryPacketPool.recycle(currentPacket);
+            currentPacket = packetPool.acquire();
+            log.telemetryPacket = currentPacket;
         }
 
         @Override
@@ -587,8 +652,8 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         public boolean update() {
             sendTelemetryPacket(currentPacket);
 
-            currentPacket = new TelemetryPacket();
-            log = new LogAdapter(currentPacket);
+            currentPacket = packetPool.acquire();
+            log.telemetryPacket = currentPacket;
 
             return true;
         }
@@ -703,58 +768,294 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         }
     }
 
-    private static String bitmapToJpegString(Bitmap bitmap, int quality) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    /*
+     * Compresses a bitmap into the given stream, which is reset first so its buffer is reused.
+     */
+    private static byte[] bitmapToJpeg(Bitmap bitmap, int quality,
+                                       ByteArrayOutputStream outputStream) {
+        outputStream.reset();
         bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream);
-        return Base64.encodeToString(outputStream.toByteArray(), Base64.DEFAULT);
+        return outputStream.toByteArray();
+    }
+
+    /*
+     * Encodes a camera frame captured at the given time.
+     */
+    private ReceiveImage bitmapToFrame(String channel, Bitmap bitmap, int quality, long timestamp,
+                                       ByteArrayOutputStream outputStream) {
+        return new ReceiveImage(channel, bitmapToJpeg(bitmap, quality, outputStream),
+            lastCameraFrameId.incrementAndGet(), timestamp, bitmap.getWidth(), bitmap.getHeight());
+    }
+
+    /*
+     * Returns the camera channel served at an HTTP path or null if the path isn't an MJPEG one.
+     */
+    private static String mjpegChannelName(String uri) {
+        if (CAMERA_MJPEG_PATH.equals(uri)) {
+            return ReceiveImage.DEFAULT_CHANNEL;
+        }
+        if (uri.startsWith(CAMERA_CHANNEL_MJPEG_PREFIX)
+            && uri.endsWith(CAMERA_CHANNEL_MJPEG_SUFFIX)
+            && uri.length() > CAMERA_CHANNEL_MJPEG_PREFIX.length()
+                + CAMERA_CHANNEL_MJPEG_SUFFIX.length()) {
+            return uri.substring(CAMERA_CHANNEL_MJPEG_PREFIX.length(),
+                uri.length() - CAMERA_CHANNEL_MJPEG_SUFFIX.length());
+        }
+        return null;
     }
 
+    /*
+     * Named camera stream with its own pipeline, settings, and MJPEG viewers. Frames are only
+     * encoded while someone is subscribed to the channel.
+     */
+    private class CameraChannel {
+        final String name;
+        final MjpegStream mjpegStream = new MjpegStream();
+        volatile int imageQuality = DEFAULT_IMAGE_QUALITY;
+
+        // NOTE: guarded by cameraChannels
+        ExecutorService streamExecutor;
+        ExecutorService encodeExecutor;
+
+        CameraChannel(String name) {
+            this.name = name;
+        }
+
+        /*
+         * Returns true if anyone could be shown frames of this channel.
+         */
+        boolean hasViewers() {
+            return core.hasCameraSubscribers(name) || mjpegStream.getViewerCount() > 0;
+        }
+
+        /*
+         * Returns true if a new frame would only replace the ones still waiting to be sent.
+         */
+        boolean isBacklogged() {
+            return core.isImageBacklogged(name) && mjpegStream.getViewerCount() == 0;
+        }
+
+        /*
+         * Sends a frame to subscribed WebSocket clients and MJPEG viewers.
+         */
+        void send(ReceiveImage frame) {
+            core.sendCameraFrame(frame);
+            mjpegStream.publish(frame.getImageBytes());
+        }
+
+        void stop() {
+            if (streamExecutor != null) {
+                streamExecutor.shutdownNow();
+                streamExecutor = null;
+            }
+
+            if (encodeExecutor != null) {
+                encodeExecutor.shutdownNow();
+                encodeExecutor = null;
+            }
+        }
+    }
+
+    /*
+     * Lower bounds of the parameters chosen for adaptive camera streams.
+     */
+    private static class AdaptiveBounds {
+        final int minQuality;
+        final double minScale;
+        final double minFps;
+
+        AdaptiveBounds(int minQuality, double minScale, double minFps) {
+            this.minQuality = minQuality;
+            this.minScale = minScale;
+            this.minFps = minFps;
+        }
+    }
+
+    /*
+     * Captured camera frame waiting to be encoded.
+     */
+    private static class CameraFrame {
+        final Bitmap bitmap;
+        final long timestamp;
+
+        CameraFrame(Bitmap bitmap, long timestamp) {
+            this.bitmap = bitmap;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /*
+     * Capture stage of the camera stream. Frames are requested at most at the maximum rate, once
+     * the encoder has picked up the previous one, so the next frame is captured while the current
+     * one is encoded but no frames are captured just to be replaced. Nothing is captured while
+     * the channel is backlogged.
+     */
     private class CameraStreamRunnable implements Runnable {
-        private CameraStreamSource source;
-        private double maxFps;
+        private final CameraChannel channel;
+        private final CameraStreamSource source;
+        private final double maxFps;
+        private final LatestValue<CameraFrame> frames;
+        // released by the encoder when it picks up a frame
+        private final Semaphore frameTaken;
+        // null unless the stream adapts to the network
+        private final AdaptiveCameraController controller;
+
+        private final Semaphore frameReceived = new Semaphore(0);
+        // capture time of the frame requested last; read by the source's callback thread
+        private volatile long requestTimestamp;
+        private final Continuation<? extends Consumer<Bitmap>> onFrame =
+            Continuation.createTrivial(new Consumer<Bitmap>() {
+                @Override
+                public void accept(Bitmap value) {
+                    frames.publish(new CameraFrame(value, requestTimestamp));
+                    frameReceived.release();
+                }
+            });
 
-        private CameraStreamRunnable(CameraStreamSource source, double maxFps) {
+        private CameraStreamRunnable(CameraChannel channel, CameraStreamSource source,
+                                     double maxFps, LatestValue<CameraFrame> frames,
+                                     Semaphore frameTaken,
+                                     AdaptiveCameraController controller) {
+            this.channel = channel;
             this.source = source;
             this.maxFps = maxFps;
+            this.frames = frames;
+            this.frameTaken = frameTaken;
+            this.controller = controller;
         }
 
         @Override
         public void run() {
-            while (!Thread.currentThread().isInterrupted()) {
-                try {
-                    final long timestamp = System.currentTimeMillis();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long timestamp = System.currentTimeMillis();
 
-                    if (core.clientCount() == 0) {
+                    if (!channel.hasViewers()) {
                         Thread.sleep(250);
                         continue;
                     }
 
-                    final CountDownLatch latch = new CountDownLatch(1);
-                    source.getFrameBitmap(Continuation.createTrivial(new Consumer<Bitmap>() {
-                        @Override
-                        public void accept(Bitmap value) {
-                            sendAll(new ReceiveImage(bitmapToJpegString(value, imageQuality)));
-                            latch.countDown();
-                        }
-                    }));
+                    if (channel.isBacklogged()) {
+                        Thread.sleep(CAMERA_BACKLOG_POLL_MS);
+                        continue;
+                    }
 
-                    latch.await();
+                    frameTaken.acquire();
+                    requestTimestamp = System.currentTimeMillis();
+                    source.getFrameBitmap(onFrame);
+                    frameReceived.acquire();
 
-                    if (maxFps == 0) {
+                    double fps = controller == null ? maxFps : controller.getFps();
+                    if (fps == 0) {
                         continue;
                     }
 
-                    long sleepTime = (long) (1000 / maxFps
+                    long sleepTime = (long) (1000 / fps
                         - (System.currentTimeMillis() - timestamp));
                     Thread.sleep(Math.max(sleepTime, 0));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                frames.close();
+            }
+        }
+    }
+
+    /*
+     * Encode stage of the camera stream. Always encodes the most recent capture, and skips it
+     * while every subscribed client still has an unsent frame so a slow network lowers the frame
+     * rate rather than adding latency.
+     */
+    private class CameraEncodeRunnable implements Runnable {
+        private final CameraChannel channel;
+        private final LatestValue<CameraFrame>.Reader frames;
+        private final Semaphore frameTaken;
+        private final ByteArrayOutputStream jpegBuffer =
+            new ByteArrayOutputStream(INITIAL_JPEG_BUFFER_SIZE);
+        // null unless the stream adapts to the network
+        private final AdaptiveCameraController controller;
+        // entries reported with the op mode telemetry while the stream runs
+        private final Map<String, Object> telemetry = new HashMap<>();
+        private long lastTelemetryTime;
+
+        private CameraEncodeRunnable(CameraChannel channel, LatestValue<CameraFrame> frames,
+                                     Semaphore frameTaken,
+                                     AdaptiveCameraController controller) {
+            this.channel = channel;
+            this.frames = frames.newReader();
+            this.frameTaken = frameTaken;
+            this.controller = controller;
+        }
+
+        private ReceiveImage encode(CameraFrame frame) {
+            if (controller == null) {
+                return bitmapToFrame(channel.name, frame.bitmap, channel.imageQuality,
+                    frame.timestamp, jpegBuffer);
+            }
+
+            double scale = controller.getScale();
+            Bitmap bitmap = frame.bitmap;
+            if (scale < 1) {
+                bitmap = Bitmap.createScaledBitmap(frame.bitmap,
+                    Math.max(1, (int) Math.round(frame.bitmap.getWidth() * scale)),
+                    Math.max(1, (int) Math.round(frame.bitmap.getHeight() * scale)), true);
+            }
+
+            ReceiveImage image = bitmapToFrame(channel.name, bitmap, controller.getQuality(),
+                frame.timestamp, jpegBuffer);
+            if (bitmap != frame.bitmap) {
+                bitmap.recycle();
+            }
+            return image;
+        }
+
+        /*
+         * Feeds the delivery measurements to the controller and reports its decisions.
+         */
+        private void adapt(ReceiveImage image) {
+            long now = System.currentTimeMillis();
+            boolean changed = controller.update(image.getImageBytes().length,
+                core.getImageLatency(channel.name), core.getImageThroughput(channel.name), now);
+            if (changed || now - lastTelemetryTime >= CAMERA_TELEMETRY_INTERVAL_MS) {
+                lastTelemetryTime = now;
+                // a packet of its own would remove the op mode keys from the delta stream
+                controller.putTelemetry(telemetry, cameraTelemetryPrefix(channel.name));
+                core.putTelemetryExtras(telemetry);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    CameraFrame frame = frames.next(CAMERA_FRAME_TIMEOUT_MS);
+                    if (frame == null) {
+                        continue;
+                    }
+                    // let capture start on the next frame while this one is encoded
+                    frameTaken.release();
+
+                    if (channel.isBacklogged()) {
+                        continue;
+                    }
+
+                    ReceiveImage image = encode(frame);
+                    channel.send(image);
+                    if (controller != null) {
+                        adapt(image);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                core.removeTelemetryExtras(telemetry.keySet());
             }
         }
     }
 
     private class LimelightCameraStreamRunnable implements Runnable {
+        private final CameraChannel channel;
         private HttpURLConnection limelightConnection;
         private BufferedInputStream byteStream;
         private double maxFps;
@@ -762,7 +1063,9 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         private ElapsedTime timeSinceLastFrame = new ElapsedTime();
         private int failureCount = 0;
 
-        private LimelightCameraStreamRunnable(String ipAddress, double maxFps) {
+        private LimelightCameraStreamRunnable(CameraChannel channel, String ipAddress,
+                                              double maxFps) {
+            this.channel = channel;
             this.maxFps = maxFps;
             this.ipAddress = ipAddress;
         }
@@ -791,7 +1094,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         public void run() {
             while (!Thread.currentThread().isInterrupted()) {
                 try {
-                    if (core.clientCount() == 0) {
+                    if (!channel.hasViewers()) {
                         if (limelightConnection != null) { // Close connection to avoid backlog of frames
                             reset();
                         }
@@ -880,7 +1183,9 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                     // Send only frames which won't exceed our max frame-rate
                     if (maxFps == 0 || timeSinceLastFrame.milliseconds() > (1000 / maxFps)) {
                         timeSinceLastFrame.reset();
-                        sendAll(new ReceiveImage(Base64.encodeToString(out, Base64.DEFAULT)));
+                        // the MJPEG headers don't carry dimensions
+                        channel.send(new ReceiveImage(channel.name, out,
+                            lastCameraFrameId.incrementAndGet(), System.currentTimeMillis(), 0, 0));
                     }
                 } catch (InterruptedException | IOException e) {
                     Thread.currentThread().interrupt();
@@ -918,16 +1223,108 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         "kotlin"
     ));
 
-    private static void addConfigClasses(CustomVariable customVariable) {
+    /*
+     * Index of config classes generated at build time by the dashboard annotation processor.
+     */
+    private static final String CONFIG_INDEX_CLASS =
+        "com.acmerobotics.dashboard.config.GeneratedConfigIndex";
+    private static final String CONFIG_INDEX_FIELD = "CLASSES";
+
+    /*
+     * Minimum time between two publications of discovered config classes.
+     */
+    private static final long CONFIG_PUBLISH_INTERVAL_NS = 250_000_000;
+
+    private void addConfigClasses() {
         ClassLoader classLoader = FtcDashboard.class.getClassLoader();
 
+        List<String> classNames = loadConfigIndex(classLoader);
+        boolean indexed = classNames != null;
+        if (!indexed) {
+            classNames = scanClassNames();
+        }
+        configDiscoveryMetrics.classesListed(indexed, classNames.size());
+
+        Map<String, CustomVariable> pending = new LinkedHashMap<>();
+        long lastPublishTime = System.nanoTime();
+        for (String className : classNames) {
+            try {
+                Class<?> configClass = Class.forName(className, false, classLoader);
+
+                if (!configClass.isAnnotationPresent(Config.class)
+                    || configClass.isAnnotationPresent(Disabled.class)) {
+                    continue;
+                }
+
+                String name = configClass.getSimpleName();
+                String altName = configClass.getAnnotation(Config.class).value();
+                if (!altName.isEmpty()) {
+                    name = altName;
+                }
+
+                pending.put(name, ReflectionConfig.createVariableFromClass(configClass));
+            } catch (ClassNotFoundException | NoClassDefFoundError ignored) {
+                // dash is unable to access many classes and reporting every instance
+                // only clutters the logs
+            } catch (RuntimeException | LinkageError e) {
+                // e.g., a static initializer threw; the remaining classes are still added
+                RobotLog.ee(TAG, e, "Failed to add config class %s", className);
+            }
+
+            if (!pending.isEmpty()
+                && System.nanoTime() - lastPublishTime >= CONFIG_PUBLISH_INTERVAL_NS) {
+                publishConfigClasses(pending);
+                lastPublishTime = System.nanoTime();
+            }
+        }
+        publishConfigClasses(pending);
+
+        configDiscoveryMetrics.completed();
+        RobotLog.ii(TAG, "Config discovery: " + configDiscoveryMetrics);
+    }
+
+    /*
+     * Adds the discovered config classes to the tree and the baseline in a single update and
+     * clears them.
+     */
+    private void publishConfigClasses(final Map<String, CustomVariable> configClasses) {
+        if (configClasses.isEmpty()) {
+            return;
+        }
+
+        core.addConfigCategories(configClasses);
+        publishedConfigClasses += configClasses.size();
+        configClasses.clear();
+
+        configDiscoveryMetrics.published(publishedConfigClasses);
+    }
+
+    /*
+     * Returns the config class names from the generated index or null if there is no index.
+     */
+    private static List<String> loadConfigIndex(ClassLoader classLoader) {
+        try {
+            Class<?> index = Class.forName(CONFIG_INDEX_CLASS, true, classLoader);
+            return Arrays.asList((String[]) index.getField(CONFIG_INDEX_FIELD).get(null));
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            RobotLog.ee(TAG, e, "Invalid config class index; falling back to scanning");
+            return null;
+        }
+    }
+
+    /*
+     * Returns the names of all classes in the APK outside of the ignored packages.
+     */
+    private static List<String> scanClassNames() {
+        List<String> classNames = new ArrayList<>();
+
         Context context = AppUtil.getInstance().getApplication();
         try {
             DexFile dexFile = new DexFile(context.getPackageCodePath());
 
-            List<String> classNames = Collections.list(dexFile.entries());
-
-            for (String className : classNames) {
+            for (String className : Collections.list(dexFile.entries())) {
                 boolean skip = false;
                 for (String prefix : IGNORED_PACKAGES) {
                     if (className.startsWith(prefix)) {
@@ -936,34 +1333,15 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                     }
                 }
 
-                if (skip) {
-                    continue;
-                }
-
-                try {
-                    Class<?> configClass = Class.forName(className, false, classLoader);
-
-                    if (!configClass.isAnnotationPresent(Config.class)
-                        || configClass.isAnnotationPresent(Disabled.class)) {
-                        continue;
-                    }
-
-                    String name = configClass.getSimpleName();
-                    String altName = configClass.getAnnotation(Config.class).value();
-                    if (!altName.isEmpty()) {
-                        name = altName;
-                    }
-
-                    customVariable.putVariable(name,
-                        ReflectionConfig.createVariableFromClass(configClass));
-                } catch (ClassNotFoundException | NoClassDefFoundError ignored) {
-                    // dash is unable to access many classes and reporting every instance
-                    // only clutters the logs
+                if (!skip) {
+                    classNames.add(className);
                 }
             }
         } catch (IOException e) {
             RobotLog.logStackTrace(e);
         }
+
+        return classNames;
     }
 
     private void attemptRestart() {
@@ -990,21 +1368,89 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         }
     }
 
+    /*
+     * Substitutes the input stream of a handshake session, which the web socket reads frames from.
+     */
+    private static NanoHTTPD.IHTTPSession withInputStream(NanoHTTPD.IHTTPSession session,
+                                                          InputStream in) {
+        return (NanoHTTPD.IHTTPSession) Proxy.newProxyInstance(
+                NanoHTTPD.IHTTPSession.class.getClassLoader(),
+                new Class<?>[] { NanoHTTPD.IHTTPSession.class },
+                (proxy, method, args) -> {
+                    if ("getInputStream".equals(method.getName())) {
+                        return in;
+                    }
+                    try {
+                        return method.invoke(session, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
     private class DashWebSocket extends NanoWSD.WebSocket implements SendFun {
-        final SocketHandler sh = core.newSocket(this);
+        final MessageCodec codec = DashboardCore.codecForSubprotocols(
+            getHandshakeRequest().getHeaders().get(NanoWSD.HEADER_WEBSOCKET_PROTOCOL));
+        final SocketHandler sh = core.newSocket(this, codec);
+
+        // null unless the client negotiated compression
+        private final PerMessageDeflate deflate;
 
         public DashWebSocket(NanoHTTPD.IHTTPSession handshakeRequest) {
-            super(handshakeRequest);
+            this(handshakeRequest, PerMessageDeflate.negotiate(
+                handshakeRequest.getHeaders().get(PerMessageDeflate.HEADER_WEBSOCKET_EXTENSIONS),
+                core.getCompressionLevel()));
+        }
+
+        private DashWebSocket(NanoHTTPD.IHTTPSession handshakeRequest,
+                              PerMessageDeflate deflate) {
+            super(deflate == null ? handshakeRequest : withInputStream(handshakeRequest,
+                deflate.inflatingStream(handshakeRequest.getInputStream())));
+
+            this.deflate = deflate;
+            if (deflate != null) {
+                getHandshakeResponse().addHeader(PerMessageDeflate.HEADER_WEBSOCKET_EXTENSIONS,
+                    deflate.getResponseHeader());
+            }
         }
 
         @Override
         public void send(Message message) {
+            send(codec.encode(message));
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
             try {
-                String messageStr = DashboardCore.GSON.toJson(message);
-                send(messageStr);
+                NanoWSD.WebSocketFrame.OpCode opCode = message.isBinary()
+                    ? NanoWSD.WebSocketFrame.OpCode.Binary : NanoWSD.WebSocketFrame.OpCode.Text;
+                if (deflate != null && deflate.shouldCompress(message)) {
+                    // compress and write atomically so the client inflates in the same order
+                    synchronized (this) {
+                        sendFrame(new NanoWSD.WebSocketFrame(opCode, true,
+                            deflate.compress(message.getPayload())) {
+                            @Override
+                            public void write(OutputStream out) throws IOException {
+                                PerMessageDeflate.writeFrame(out, getOpCode().getValue(), true,
+                                    getBinaryPayload());
+                            }
+                        });
+                    }
+                } else {
+                    sendFrame(new NanoWSD.WebSocketFrame(opCode, true, message.getPayload()));
+                }
+            } catch (IOException e) {
+                // the outbound queue disconnects the client
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                close(NanoWSD.WebSocketFrame.CloseCode.GoingAway, "Client too slow", false);
             } catch (IOException e) {
-                // NOTE: It's possible that the socket has closed and we have a backlog of messages
-                // to send. Settle for logging here instead of trying to get all the checks right.
                 RobotLog.logStackTrace(e);
             }
         }
@@ -1048,6 +1494,10 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
                                boolean initiatedByRemote) {
             sh.onClose();
 
+            if (deflate != null) {
+                deflate.close();
+            }
+
             updateStatusView();
         }
 
@@ -1172,18 +1622,31 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     }
 
     private FtcDashboard() {
-        core.withConfigRoot(new CustomVariableConsumer() {
-            @Override
-            public void accept(CustomVariable configRoot) {
-                addConfigClasses(configRoot);
-            }
-        });
+        // the default channel is served before any stream starts
+        cameraChannel(ReceiveImage.DEFAULT_CHANNEL);
 
         try {
             server.start();
         } catch (IOException e) {
             RobotLog.logStackTrace(e);
         }
+        configDiscoveryMetrics.serverStarted();
+
+        // config classes are published as they are found so that startup isn't blocked
+        ExecutorService configDiscoveryExecutor =
+            ThreadPool.newSingleThreadExecutor("config discovery");
+        configDiscoveryExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    addConfigClasses();
+                } catch (RuntimeException e) {
+                    // nobody waits on the discovery thread, so report the failure here
+                    RobotLog.ee(TAG, e, "Config discovery failed");
+                }
+            }
+        });
+        configDiscoveryExecutor.shutdown();
 
         enableMenuItems = new ArrayList<>();
         disableMenuItems = new ArrayList<>();
@@ -1244,7 +1707,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
             logcatMonitorExecutor.shutdownNow();
         }
 
-        stopCameraStream();
+        stopAllCameraStreams();
 
         limelightProxyManager.stop();
 
@@ -1517,7 +1980,8 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
      * Queues a telemetry packet to be sent to all clients. Packets are sent in batches of
      * approximate period {@link #getTelemetryTransmissionInterval()}. Clients display the most
      * recent value received for each key, and the data is cleared upon op mode init or a call to
-     * {@link #clearTelemetry()}.
+     * {@link #clearTelemetry()}. The packet is read on the transmission thread and must not be
+     * modified after it is sent.
      *
      * @param telemetryPacket packet to send
      */
@@ -1557,6 +2021,67 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         core.setTelemetryTransmissionInterval(newTransmissionInterval);
     }
 
+    /**
+     * Returns the interval in milliseconds at which config variables displayed by clients are
+     * checked for changes made by robot code.
+     */
+    public int getConfigSampleInterval() {
+        return core.getConfigSampleInterval();
+    }
+
+    /**
+     * Sets the interval at which config variables displayed by clients are checked for changes
+     * made by robot code (e.g., assignments to {@code @Config} fields).
+     *
+     * @param newSampleInterval sample interval in milliseconds or 0 to disable sampling
+     */
+    public void setConfigSampleInterval(int newSampleInterval) {
+        core.setConfigSampleInterval(newSampleInterval);
+    }
+
+    /**
+     * Replaces the field background drawn beneath telemetry packets created with
+     * {@code drawDefaultField} set.
+     *
+     * @param background background operations; copied, so later changes have no effect
+     */
+    public void setFieldBackground(Canvas background) {
+        core.setFieldBackground(background);
+    }
+
+    /**
+     * Sets the policy applied when telemetry packets are produced faster than they can be
+     * transmitted.
+     *
+     * @param dropPolicy new drop policy
+     */
+    public void setTelemetryDropPolicy(RingBuffer.DropPolicy dropPolicy) {
+        core.setTelemetryDropPolicy(dropPolicy);
+    }
+
+    /**
+     * Returns the number of telemetry packets discarded because the queue was full.
+     */
+    public long getTelemetryDropCount() {
+        return core.getTelemetryDropCount();
+    }
+
+    /**
+     * Returns the number of messages waiting to be written to each connected client.
+     */
+    public List<Integer> getClientQueueDepths() {
+        return core.getClientQueueDepths();
+    }
+
+    /**
+     * Sets the permessage-deflate level for new connections. A level of 0 disables compression.
+     *
+     * @param compressionLevel deflate level from 0 to 9
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        core.setCompressionLevel(compressionLevel);
+    }
+
     /**
      * Sends updated configuration data to all instance clients.
      */
@@ -1600,6 +2125,22 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         });
     }
 
+    /**
+     * Removes the hardware subtree ("{@value #HARDWARE_CATEGORY}") from the configuration root,
+     * if present.
+     */
+    public void clearHardwareRoot() {
+        withConfigRoot(root -> root.removeVariable(HARDWARE_CATEGORY));
+    }
+
+    /**
+     * Returns the progress and timing of the background discovery of {@link Config} classes.
+     * Config classes are added to the config tree in groups as they are discovered.
+     */
+    public ConfigDiscoveryMetrics getConfigDiscoveryMetrics() {
+        return configDiscoveryMetrics;
+    }
+
     /**
      * Add config variable with custom provider that is automatically removed when op mode ends.
      *
@@ -1612,6 +2153,17 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         core.addConfigVariable(category, name, provider);
     }
 
+    /**
+     * Add several config variables with custom providers to a category at once.
+     *
+     * @param category  top-level category
+     * @param providers getters/setters for the variables by name
+     */
+    public void addConfigVariables(String category,
+                                   Map<String, ? extends ValueProvider<?>> providers) {
+        core.addConfigVariables(category, providers);
+    }
+
     /**
      * Add config variable with custom provider.
      *
@@ -1624,16 +2176,32 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     public <T> void addConfigVariable(final String category, final String name,
                                       final ValueProvider<T> provider,
                                       final boolean autoRemove) {
-        withConfigRoot(new CustomVariableConsumer() {
-            @Override
-            public void accept(CustomVariable configRoot) {
-                core.addConfigVariable(category, name, provider);
+        applyConfigBatch(new ConfigBatch().add(category, name, provider), autoRemove);
+    }
 
-                if (autoRemove) {
-                    varsToRemove.add(new String[] {category, name});
-                }
+    /**
+     * Applies the additions and removals of a batch atomically with a single client update.
+     *
+     * @param batch config variable operations
+     */
+    public void applyConfigBatch(ConfigBatch batch) {
+        core.applyConfigBatch(batch);
+    }
+
+    /**
+     * Applies the additions and removals of a batch atomically with a single client update.
+     *
+     * @param batch      config variable operations
+     * @param autoRemove if true, the added variables are removed on op mode termination
+     */
+    public void applyConfigBatch(ConfigBatch batch, boolean autoRemove) {
+        core.applyConfigBatch(batch);
+
+        if (autoRemove) {
+            synchronized (varsToRemove) {
+                varsToRemove.addAll(batch.getAddedVariables());
             }
-        });
+        }
     }
 
     /**
@@ -1646,56 +2214,169 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         core.removeConfigVariable(category, name);
     }
 
+    /*
+     * Returns the camera channel with the given name, creating it and listing it to clients if
+     * necessary.
+     */
+    private CameraChannel cameraChannel(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Camera channel name must not be empty");
+        }
+
+        return cameraChannels.with(m -> {
+            CameraChannel channel = m.get(name);
+            if (channel == null) {
+                channel = new CameraChannel(name);
+                m.put(name, channel);
+                core.setCameraChannels(new ArrayList<>(m.keySet()));
+            }
+            return channel;
+        });
+    }
+
+    /*
+     * Adaptive stream parameters of the default channel are reported under "Camera/" and those
+     * of other channels under "Camera/<name>/".
+     */
+    private static String cameraTelemetryPrefix(String channel) {
+        return ReceiveImage.DEFAULT_CHANNEL.equals(channel) ? "Camera/" : "Camera/" + channel + "/";
+    }
+
     /**
      * Sends an image to the dashboard for display (MJPEG style). Note that the encoding process is
-     * synchronous. Stops the active stream if running.
+     * synchronous. Stops the active stream of the default channel if running.
      *
      * @param bitmap bitmap to send
      */
     public void sendImage(Bitmap bitmap) {
+        sendImage(ReceiveImage.DEFAULT_CHANNEL, bitmap);
+    }
+
+    /**
+     * Sends an image to a camera channel for display (MJPEG style). Note that the encoding process
+     * is synchronous and skipped if nobody is subscribed to the channel. Stops the active stream
+     * of the channel if running.
+     *
+     * @param channel name of the camera channel
+     * @param bitmap  bitmap to send
+     */
+    public void sendImage(String channel, Bitmap bitmap) {
         if (!core.enabled) {
             return;
         }
 
-        stopCameraStream();
+        CameraChannel c = cameraChannel(channel);
+        stopCameraStream(channel);
+
+        if (!c.hasViewers()) {
+            return;
+        }
 
-        sendAll(new ReceiveImage(bitmapToJpegString(bitmap, imageQuality)));
+        c.send(bitmapToFrame(channel, bitmap, c.imageQuality, System.currentTimeMillis(),
+            new ByteArrayOutputStream()));
     }
 
     /**
-     * Sends a stream of camera frames at a regular interval.
+     * Sends a stream of camera frames at a regular interval on the default channel.
      *
      * @param source camera stream source
      * @param maxFps maximum frames per second; 0 indicates unlimited
      */
     public void startCameraStream(CameraStreamSource source, double maxFps) {
+        startCameraStream(ReceiveImage.DEFAULT_CHANNEL, source, maxFps);
+    }
+
+    /**
+     * Sends a stream of camera frames at a regular interval on a camera channel. Each channel has
+     * its own capture and encoding threads, so streams on different channels run concurrently.
+     * Replaces the channel's active stream if running.
+     *
+     * @param channel name of the camera channel
+     * @param source  camera stream source
+     * @param maxFps  maximum frames per second; 0 indicates unlimited
+     */
+    public void startCameraStream(String channel, CameraStreamSource source, double maxFps) {
         if (!core.enabled) {
             return;
         }
 
-        stopCameraStream();
+        CameraChannel c = cameraChannel(channel);
+
+        AdaptiveCameraController controller = null;
+        AdaptiveBounds bounds = adaptiveCameraBounds;
+        if (bounds != null) {
+            int quality = c.imageQuality;
+            double adaptiveMaxFps = maxFps == 0 ? ADAPTIVE_MAX_FPS : maxFps;
+            controller = new AdaptiveCameraController(
+                Math.min(bounds.minQuality, quality), quality, bounds.minScale,
+                Math.min(bounds.minFps, adaptiveMaxFps), adaptiveMaxFps);
+        }
 
-        cameraStreamExecutor = ThreadPool.newSingleThreadExecutor("camera stream");
-        cameraStreamExecutor.submit(new CameraStreamRunnable(source, maxFps));
+        LatestValue<CameraFrame> frames = new LatestValue<>();
+        Semaphore frameTaken = new Semaphore(1);
+        CameraEncodeRunnable encodeRunnable =
+            new CameraEncodeRunnable(c, frames, frameTaken, controller);
+        CameraStreamRunnable streamRunnable =
+            new CameraStreamRunnable(c, source, maxFps, frames, frameTaken, controller);
+        cameraChannels.with(m -> {
+            c.stop();
+
+            c.encodeExecutor = ThreadPool.newSingleThreadExecutor("camera encoder: " + channel);
+            c.encodeExecutor.submit(encodeRunnable);
+            c.streamExecutor = ThreadPool.newSingleThreadExecutor("camera stream: " + channel);
+            c.streamExecutor.submit(streamRunnable);
+        });
     }
 
     /**
-     * Stops the camera frame stream.
+     * Stops the camera frame stream of the default channel.
      */
     public void stopCameraStream() {
-        if (cameraStreamExecutor != null) {
-            cameraStreamExecutor.shutdownNow();
-            cameraStreamExecutor = null;
-        }
+        stopCameraStream(ReceiveImage.DEFAULT_CHANNEL);
     }
 
     /**
-     * Sends a stream of camera frames from a Limelight3A camera at a regular interval.
+     * Stops the camera frame stream of a camera channel.
+     *
+     * @param channel name of the camera channel
+     */
+    public void stopCameraStream(String channel) {
+        cameraChannels.with(m -> {
+            CameraChannel c = m.get(channel);
+            if (c != null) {
+                c.stop();
+            }
+        });
+    }
+
+    private void stopAllCameraStreams() {
+        cameraChannels.with(m -> {
+            for (CameraChannel c : m.values()) {
+                c.stop();
+            }
+        });
+    }
+
+    /**
+     * Sends a stream of camera frames from a Limelight3A camera at a regular interval on the
+     * default channel.
      *
      * @param limelight the Limelight object
      * @param maxFps maximum frames per second; 0 indicates unlimited
      */
     public void startCameraStream(Limelight3A limelight, double maxFps) {
+        startCameraStream(ReceiveImage.DEFAULT_CHANNEL, limelight, maxFps);
+    }
+
+    /**
+     * Sends a stream of camera frames from a Limelight3A camera at a regular interval on a camera
+     * channel. Replaces the channel's active stream if running.
+     *
+     * @param channel   name of the camera channel
+     * @param limelight the Limelight object
+     * @param maxFps    maximum frames per second; 0 indicates unlimited
+     */
+    public void startCameraStream(String channel, Limelight3A limelight, double maxFps) {
         if (!core.enabled) {
             return;
         }
@@ -1710,10 +2391,48 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
             return;
         }
 
-        stopCameraStream();
+        CameraChannel c = cameraChannel(channel);
+        LimelightCameraStreamRunnable runnable =
+            new LimelightCameraStreamRunnable(c, address.getHostAddress(), maxFps);
+        cameraChannels.with(m -> {
+            c.stop();
+
+            c.streamExecutor = ThreadPool.newSingleThreadExecutor("camera stream: " + channel);
+            c.streamExecutor.submit(runnable);
+        });
+    }
+
+    /**
+     * Lets camera streams adapt JPEG quality, resolution, and frame rate to the measured network
+     * throughput and frame latency. The image quality of the channel and the maximum frame rate
+     * of the stream are the upper bounds. The parameters chosen are sent as telemetry under
+     * {@code Camera/} for the default channel and {@code Camera/<channel>/} for others. Takes
+     * effect when the next stream is started.
+     *
+     * @param minQuality lowest JPEG quality (0-100)
+     * @param minScale   smallest factor frames are downscaled by, in (0, 1]
+     * @param minFps     lowest frame rate
+     */
+    public void enableAdaptiveCameraStream(int minQuality, double minScale, double minFps) {
+        if (minQuality < 0 || minQuality > 100) {
+            throw new IllegalArgumentException("Quality must be between 0 and 100");
+        }
+        if (!(minScale > 0 && minScale <= 1)) {
+            throw new IllegalArgumentException("Scale must be in (0, 1]");
+        }
+        if (!(minFps > 0)) {
+            throw new IllegalArgumentException("Frame rate must be positive");
+        }
 
-        cameraStreamExecutor = ThreadPool.newSingleThreadExecutor("camera stream");
-        cameraStreamExecutor.submit(new LimelightCameraStreamRunnable(address.getHostAddress(), maxFps));
+        adaptiveCameraBounds = new AdaptiveBounds(minQuality, minScale, minFps);
+    }
+
+    /**
+     * Makes camera streams use fixed parameters again. Takes effect when the next stream is
+     * started.
+     */
+    public void disableAdaptiveCameraStream() {
+        adaptiveCameraBounds = null;
     }
 
     /**
@@ -1721,7 +2440,7 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
      * {@link #startCameraStream(CameraStreamSource, double)}.
      */
     public int getImageQuality() {
-        return imageQuality;
+        return getImageQuality(ReceiveImage.DEFAULT_CHANNEL);
     }
 
     /**
@@ -1729,7 +2448,30 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
      * {@link #startCameraStream(CameraStreamSource, double)}.
      */
     public void setImageQuality(int quality) {
-        imageQuality = quality;
+        setImageQuality(ReceiveImage.DEFAULT_CHANNEL, quality);
+    }
+
+    /**
+     * Returns the image quality of a camera channel or the default quality if the channel hasn't
+     * been used yet.
+     *
+     * @param channel name of the camera channel
+     */
+    public int getImageQuality(String channel) {
+        CameraChannel c = cameraChannels.with(m -> {
+            return m.get(channel);
+        });
+        return c == null ? DEFAULT_IMAGE_QUALITY : c.imageQuality;
+    }
+
+    /**
+     * Sets the image quality of a camera channel.
+     *
+     * @param channel name of the camera channel
+     * @param quality JPEG quality (0-100)
+     */
+    public void setImageQuality(String channel, int quality) {
+        cameraChannel(channel).imageQuality = quality;
     }
 
     public static void copyIntoSdkGamepad(ReceiveGamepadState.Gamepad src, Gamepad dst) {
@@ -1818,6 +2560,11 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
     }
 
     private void close() {
+        cameraChannels.with(m -> {
+            for (CameraChannel c : m.values()) {
+                c.mjpegStream.close();
+            }
+        });
         server.stop();
 
         if (opModeManager != null) {
@@ -1859,25 +2606,17 @@ public class FtcDashboard implements OpModeManagerImpl.Notifications {
         (new Thread() {
             @Override
             public void run() {
-                withConfigRoot(new CustomVariableConsumer() {
-                    @Override
-                    public void accept(CustomVariable configRoot) {
-                        for (String[] var : varsToRemove) {
-                            String category = var[0];
-                            String name = var[1];
-                            CustomVariable catVar =
-                                (CustomVariable) configRoot.getVariable(category);
-                            catVar.removeVariable(name);
-                            if (catVar.size() == 0) {
-                                configRoot.removeVariable(category);
-                            }
-                        }
-                        varsToRemove.clear();
+                ConfigBatch batch = new ConfigBatch();
+                synchronized (varsToRemove) {
+                    for (String[] var : varsToRemove) {
+                        batch.remove(var[0], var[1]);
                     }
-                });
+                    varsToRemove.clear();
+                }
+                core.applyConfigBatch(batch);
             }
         }).start();
 
-        stopCameraStream();
+        stopAllCameraStreams();
     }
 }
@@ -0,0 +1,100 @@
+package com.acmerobotics.dashboard.config;
+
+import java.util.Locale;
+
+/**
+ * Timing of the background discovery of {@link Config} classes. Times are in milliseconds since
+ * the dashboard was created and are -1 until the corresponding step happens.
+ */
+public class ConfigDiscoveryMetrics {
+    private final long startTime = System.nanoTime();
+
+    private volatile long serverStartedMs = -1;
+    private volatile long classesListedMs = -1;
+    private volatile long firstPublishMs = -1;
+    private volatile long completedMs = -1;
+
+    private volatile boolean indexed;
+    private volatile int candidateClasses;
+    private volatile int configClasses;
+
+    private long elapsedMs() {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    public void serverStarted() {
+        serverStartedMs = elapsedMs();
+    }
+
+    /**
+     * Records that the classes to inspect are known.
+     *
+     * @param indexed    true if the names came from the build-time index instead of a scan
+     * @param candidates number of classes to inspect
+     */
+    public void classesListed(boolean indexed, int candidates) {
+        this.indexed = indexed;
+        this.candidateClasses = candidates;
+        classesListedMs = elapsedMs();
+    }
+
+    /**
+     * Records that config classes were published to clients.
+     *
+     * @param total number of config classes published so far
+     */
+    public void published(int total) {
+        configClasses = total;
+        if (firstPublishMs < 0) {
+            firstPublishMs = elapsedMs();
+        }
+    }
+
+    public void completed() {
+        completedMs = elapsedMs();
+    }
+
+    public long getServerStartedMs() {
+        return serverStartedMs;
+    }
+
+    public long getClassesListedMs() {
+        return classesListedMs;
+    }
+
+    public long getFirstPublishMs() {
+        return firstPublishMs;
+    }
+
+    public long getCompletedMs() {
+        return completedMs;
+    }
+
+    public boolean isComplete() {
+        return completedMs >= 0;
+    }
+
+    /**
+     * Returns true if the config classes were read from the build-time index.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    public int getCandidateClasses() {
+        return candidateClasses;
+    }
+
+    public int getConfigClasses() {
+        return configClasses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+            "%d config classes from %d %s classes; server started at %d ms, classes listed at "
+                + "%d ms, first published at %d ms, completed at %d ms",
+            configClasses, candidateClasses, indexed ? "indexed" : "scanned", serverStartedMs,
+            classesListedMs, firstPublishMs, completedMs);
+    }
+}
@@ -9,6 +9,7 @@ import com.acmerobotics.dashboard.config.variable.BasicVariable;
 import com.acmerobotics.dashboard.config.variable.ConfigVariable;
 import com.acmerobotics.dashboard.config.variable.CustomVariable;
 import com.acmerobotics.dashboard.config.variable.VariableType;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 import com.qualcomm.robotcore.hardware.CRServo;
@@ -19,12 +20,22 @@ import com.qualcomm.robotcore.hardware.HardwareDevice;
 import com.qualcomm.robotcore.hardware.NormalizedColorSensor;
 import com.qualcomm.robotcore.hardware.NormalizedRGBA;
 import com.qualcomm.robotcore.hardware.Servo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Hardware operation mode that provides real-time hardware configuration and monitoring
  * through the FTC Dashboard interface. This OpMode automatically discovers motors and servos
  * in the hardware map and exposes their configuration and telemetry data through the dashboard.
  *
+ * <p>Devices are discovered once at init and the config tree is built once. Controls live in the
+ * config tree; edits are stored and applied to the hardware by the op mode loop, so they have no
+ * effect once the op mode stops. Sensor readings are sampled at a fixed rate and sent as
+ * telemetry under {@link #READING_KEY_PREFIX}, so the config tree only changes when the user
+ * edits it.
+ *
  * <p>Features include:
  * <ul>
  *   <li>Real-time motor power control and position monitoring</li>
@@ -36,6 +47,90 @@ import com.qualcomm.robotcore.hardware.Servo;
  */
 @TeleOp(name = "Hardware", group = "Dashboard")
 public class HardwareOpMode extends OpMode {
+    /**
+     * Minimum time between two hardware readings telemetry packets.
+     */
+    public static final long READING_PERIOD_MS = 100;
+
+    /**
+     * Prefix of the telemetry keys of hardware readings, which are followed by the device
+     * category, device name, and reading separated by slashes.
+     */
+    public static final String READING_KEY_PREFIX = "Hardware/";
+
+    /**
+     * Control value edited from the dashboard. Edits arrive on the socket thread and are only
+     * applied to the hardware by the op mode thread.
+     */
+    private static class Control<T> implements ValueProvider<T> {
+        private volatile T value;
+        // NOTE: only accessed by the op mode thread
+        private T applied;
+
+        Control(T value) {
+            this.value = value;
+            this.applied = value;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+
+        @Override
+        public void set(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Returns the edited value if it hasn't been applied yet and null otherwise.
+         */
+        T takeEdit() {
+            T edit = value;
+            if (edit == null || edit.equals(applied)) {
+                return null;
+            }
+            applied = edit;
+            return edit;
+        }
+    }
+
+    /**
+     * Device discovered in the hardware map along with its controls and telemetry key prefix.
+     */
+    private static class Device<T> {
+        final T device;
+        final String name;
+        final String keyPrefix;
+        private final Map<String, Control<?>> controls = new HashMap<>();
+
+        Device(T device, String name, String category) {
+            this.device = device;
+            this.name = name;
+            this.keyPrefix = READING_KEY_PREFIX + category + "/" + name + "/";
+        }
+
+        /**
+         * Adds a control variable to the device's config variable.
+         */
+        <V> void addControl(CustomVariable deviceVar, String key, V value) {
+            Control<V> control = new Control<>(value);
+            controls.put(key, control);
+            deviceVar.putVariable(key, new BasicVariable<>(control));
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V takeEdit(String key) {
+            return ((Control<V>) controls.get(key)).takeEdit();
+        }
+    }
+
+    private final List<Device<DcMotorEx>> motors = new ArrayList<>();
+    private final List<Device<Servo>> servos = new ArrayList<>();
+    private final List<Device<CRServo>> crServos = new ArrayList<>();
+    private final List<Device<ColorSensor>> colorSensors = new ArrayList<>();
+
+    private long lastReadingTime;
 
     /**
      * Creates a ConfigVariable from a given value using a VariableProvider.
@@ -54,45 +149,46 @@ public class HardwareOpMode extends OpMode {
     }
 
     /**
-     * Initializes the hardware monitoring system by setting up the dashboard hardware root.
-     * This method is called once when the OpMode is initialized.
+     * Initializes the hardware monitoring system by discovering the devices and setting up the
+     * dashboard hardware root. This method is called once when the OpMode is initialized.
      */
     @Override
     public void init() {
-        FtcDashboard.getInstance().withHardwareRoot(hardwareRoot -> {
-            if (hardwareMapAvailable()) {
-                initHardware(hardwareRoot);
-            }
-        });
+        if (!hardwareMapAvailable()) {
+            return;
+        }
+
+        discoverDevices();
+
+        FtcDashboard.getInstance().withHardwareRoot(this::initHardware);
     }
 
     /**
-     * Continuously updates hardware configuration and telemetry during the init phase.
+     * Applies control edits and publishes hardware readings during the init phase.
      * This method runs in a loop after init() is called but before start() is called.
-     * Includes a 100ms sleep to prevent excessive CPU usage.
      */
     @Override
     public void init_loop() {
-        FtcDashboard.getInstance().withHardwareRoot(hardwareRoot -> {
-            if (hardwareMapAvailable()) {
-                setHardware(hardwareRoot);
-                updateHardware(hardwareRoot);
-            }
-        });
+        applyControls();
+        publishReadings();
     }
 
     /**
-     * Main loop that continuously updates hardware configuration and telemetry data.
-     * This method runs repeatedly while the OpMode is active.
+     * Applies control edits and publishes hardware readings while the OpMode is active.
      */
     @Override
     public void loop() {
-        FtcDashboard.getInstance().withHardwareRoot(hardwareRoot -> {
-            if (hardwareMapAvailable()) {
-                setHardware(hardwareRoot);
-                updateHardware(hardwareRoot);
-            }
-        });
+        applyControls();
+        publishReadings();
+    }
+
+    /**
+     * Removes the hardware controls from the dashboard so they can't be edited without the op
+     * mode running.
+     */
+    @Override
+    public void stop() {
+        FtcDashboard.getInstance().clearHardwareRoot();
     }
 
     /* -------------------- Initialization --------------------- */
@@ -107,301 +203,221 @@ public class HardwareOpMode extends OpMode {
     }
 
     /**
-     * Initializes all hardware components by setting up their dashboard variables.
-     * This method discovers and configures both motors and servos.
-     *
-     * @param hardwareRoot the root variable container for hardware components
+     * Builds the device registry from the hardware map. Devices without a configuration name are
+     * skipped.
      */
-    private void initHardware(CustomVariable hardwareRoot) {
-        initializeMotorVariables(hardwareRoot);
-        initializeServoVariables(hardwareRoot);
-        initializeCRServoVariables(hardwareRoot);
-        initializeColorSensorVariables(hardwareRoot);
+    private void discoverDevices() {
+        for (DcMotorSimple motor : hardwareMap.getAll(DcMotorSimple.class)) {
+            if (motor instanceof CRServo) continue; // Handled later
+            String deviceName = getDeviceName(motor);
+            if (deviceName == null) continue;
+
+            motors.add(new Device<>((DcMotorEx) motor, deviceName, "Motors"));
+        }
+
+        for (Servo servo : hardwareMap.getAll(Servo.class)) {
+            String deviceName = getDeviceName(servo);
+            if (deviceName == null) continue;
+
+            servos.add(new Device<>(servo, deviceName, "Servos"));
+        }
+
+        for (CRServo crServo : hardwareMap.getAll(CRServo.class)) {
+            String deviceName = getDeviceName(crServo);
+            if (deviceName == null) continue;
+
+            crServos.add(new Device<>(crServo, deviceName, "Continuous Rotation Servos"));
+        }
+
+        for (ColorSensor colorSensor : hardwareMap.getAll(ColorSensor.class)) {
+            String deviceName = getDeviceName(colorSensor);
+            if (deviceName == null) continue;
+
+            colorSensors.add(new Device<>(colorSensor, deviceName, "Color Sensors"));
+        }
     }
 
     /**
-     * Applies configuration changes from the dashboard to the actual hardware devices.
-     * This method updates both motors and servos based on dashboard inputs.
+     * Initializes all hardware components by setting up their dashboard variables.
+     * This method configures motors, servos, and color sensors.
      *
      * @param hardwareRoot the root variable container for hardware components
      */
-    private void setHardware(CustomVariable hardwareRoot) {
-        updateMotorsFromConfig(hardwareRoot);
-        updateServosFromConfig(hardwareRoot);
-        updateCRServoFromConfig(hardwareRoot);
+    private void initHardware(CustomVariable hardwareRoot) {
+        CustomVariable motorsVar = new CustomVariable();
+        for (Device<DcMotorEx> motor : motors) {
+            motorsVar.putVariable(motor.name, createMotorVariable(motor));
+        }
+        hardwareRoot.putVariable("Motors", motorsVar);
+
+        CustomVariable servosVar = new CustomVariable();
+        for (Device<Servo> servo : servos) {
+            servosVar.putVariable(servo.name, createServoVariable(servo));
+        }
+        hardwareRoot.putVariable("Servos", servosVar);
+
+        CustomVariable crServosVar = new CustomVariable();
+        for (Device<CRServo> crServo : crServos) {
+            crServosVar.putVariable(crServo.name, createCRServoVariable(crServo));
+        }
+        hardwareRoot.putVariable("Continuous Rotation Servos", crServosVar);
+
+        CustomVariable colorSensorsVar = new CustomVariable();
+        for (Device<ColorSensor> colorSensor : colorSensors) {
+            colorSensorsVar.putVariable(colorSensor.name, createColorSensorVariable(colorSensor));
+        }
+        hardwareRoot.putVariable("Color Sensors", colorSensorsVar);
     }
 
     /**
-     * Updates the dashboard with current hardware state information.
-     * This method refreshes telemetry data like motor positions and current draw.
-     *
-     * @param hardwareRoot the root variable container for hardware components
+     * Applies the control values edited since the last call to the hardware.
      */
-    private void updateHardware(CustomVariable hardwareRoot) {
-        updateMotorStateVariables(hardwareRoot);
-        updateColorSensorStateVariables(hardwareRoot);
+    private void applyControls() {
+        for (Device<DcMotorEx> motor : motors) {
+            applyMotorControls(motor);
+        }
+        for (Device<Servo> servo : servos) {
+            applyServoControls(servo);
+        }
+        for (Device<CRServo> crServo : crServos) {
+            applyCRServoControls(crServo);
+        }
     }
 
-    /* -------------------- Motor Handling --------------------- */
-
     /**
-     * Discovers all motors in the hardware map and creates dashboard variables for them.
-     * Each motor gets variables for power, position, run mode, current draw, and port information.
-     *
-     * @param hardwareRoot the root variable container to add motor variables to
+     * Sends the current sensor readings of all devices as telemetry, at most once every
+     * {@link #READING_PERIOD_MS} milliseconds.
      */
-    private void initializeMotorVariables(CustomVariable hardwareRoot) {
-        CustomVariable motors = new CustomVariable();
-
-        for (DcMotorSimple motor : hardwareMap.getAll(DcMotorSimple.class)) {
-            if (motor instanceof CRServo) continue; // Handled later
-            DcMotorEx motorEx = (DcMotorEx) motor;
-            String deviceName = getDeviceName(motorEx);
-            if (deviceName == null) continue;
-
-            motors.putVariable(deviceName, createMotorVariable(motorEx));
+    private void publishReadings() {
+        long now = System.nanoTime();
+        if (now - lastReadingTime < READING_PERIOD_MS * 1_000_000) {
+            return;
         }
+        lastReadingTime = now;
 
-        hardwareRoot.putVariable("Motors", motors);
+        TelemetryPacket packet = new TelemetryPacket(false);
+        for (Device<DcMotorEx> motor : motors) {
+            putMotorReadings(motor, packet);
+        }
+        for (Device<ColorSensor> colorSensor : colorSensors) {
+            putColorSensorReadings(colorSensor, packet);
+        }
+        FtcDashboard.getInstance().sendTelemetryPacket(packet);
     }
 
+    /* -------------------- Motor Handling --------------------- */
+
     /**
      * Creates a complete dashboard variable structure for a single motor.
-     * Includes power control, position monitoring, run mode, current draw, and port info.
+     * Includes power control, target position, run mode, and port info.
      *
-     * @param motor the motor to create variables for
-     * @return a CustomVariable containing all motor-related dashboard controls and telemetry
+     * @param device the motor to create variables for
+     * @return a CustomVariable containing all motor-related dashboard controls
      */
-    private CustomVariable createMotorVariable(DcMotorEx motor) {
+    private CustomVariable createMotorVariable(Device<DcMotorEx> device) {
+        DcMotorEx motor = device.device;
         CustomVariable motorVar = new CustomVariable();
         String hubType = extractHubType(motor.getController().getConnectionInfo());
 
-        motorVar.putVariable("Power", new BasicVariable<>(new ValueProvider<Double>() {
-            private double value = 0.0;
-
-            @Override
-            public Double get() {
-                return value;
-            }
-
-            @Override
-            public void set(Double newValue) {
-                value = newValue;
-                motor.setPower(newValue);
-            }
-        }));
-
-        motorVar.putVariable("Current Position", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(motor.getCurrentPosition())));
-        motorVar.putVariable("Target Position", createVariableFromValue(motor.getTargetPosition()));
-        motorVar.putVariable("Run Mode", createVariableFromValue(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER));
+        device.addControl(motorVar, "Power", 0.0);
+        device.addControl(motorVar, "Target Position", motor.getTargetPosition());
+        motor.setMode(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
+        device.addControl(motorVar, "Run Mode", DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
 
-        double current = Math.round(motor.getCurrent(AMPS) * 100) / 100.0;
-        motorVar.putVariable("Current", createVariableFromValue(current));
         motorVar.putVariable(hubType + " Port", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(motor.getPortNumber())));
 
-        motorVar.putVariable("Velocity", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(motor.getVelocity())));
-
         return motorVar;
     }
 
     /**
-     * Applies configuration changes from the dashboard to all motors.
-     * Updates motor run modes and target positions based on dashboard inputs.
-     *
-     * @param hardwareRoot the root variable container containing motor configurations
-     */
-    private void updateMotorsFromConfig(CustomVariable hardwareRoot) {
-        CustomVariable motorsVar = (CustomVariable) hardwareRoot.getVariable("Motors");
-        if (motorsVar == null) return;
-
-        for (DcMotorSimple motor : hardwareMap.getAll(DcMotorSimple.class)) {
-            if (motor instanceof CRServo) continue; // Handled later
-            DcMotorEx motorEx = (DcMotorEx) motor;
-            String motorName = getDeviceName(motorEx);
-            if (motorName == null) continue;
-
-            CustomVariable motorVar = (CustomVariable) motorsVar.getVariable(motorName);
-            if (motorVar != null) {
-                applyMotorConfiguration(motorEx, motorVar);
-            }
-        }
-    }
-
-    /**
-     * Applies configuration settings from the dashboard to a specific motor.
-     * Handles run mode changes and target position updates with error handling.
+     * Applies the edited target position, run mode, and power of a motor. The target position is
+     * applied first since switching to {@code RUN_TO_POSITION} requires one.
      *
-     * @param motor  the motor to configure
-     * @param config the configuration variables from the dashboard
+     * @param device the motor to update
      */
-    private void applyMotorConfiguration(DcMotorEx motor, CustomVariable config) {
-        ConfigVariable<?> runModeVar = config.getVariable("Run Mode");
-        if (runModeVar != null) {
-            motor.setMode((DcMotorEx.RunMode) runModeVar.getValue());
-        }
+    private void applyMotorControls(Device<DcMotorEx> device) {
+        DcMotorEx motor = device.device;
 
-        ConfigVariable<?> targetPosVar = config.getVariable("Target Position");
-        if (targetPosVar != null) {
+        Integer targetPosition = device.takeEdit("Target Position");
+        if (targetPosition != null) {
             try {
-                motor.setTargetPosition((int) targetPosVar.getValue());
+                motor.setTargetPosition(targetPosition);
             } catch (Exception e) {
                 System.out.println("Error setting target position: " + e);
             }
         }
-    }
-
-    /**
-     * Updates the dashboard with current motor telemetry data.
-     * Refreshes current position and current draw readings for all motors.
-     *
-     * @param hardwareRoot the root variable container to update with motor telemetry
-     */
-    private void updateMotorStateVariables(CustomVariable hardwareRoot) {
-        CustomVariable motorsVar = (CustomVariable) hardwareRoot.getVariable("Motors");
-        if (motorsVar == null) return;
-
-        for (DcMotorSimple motor : hardwareMap.getAll(DcMotorSimple.class)) {
-            if (motor instanceof CRServo) continue; // Handled later
-            DcMotorEx motorEx = (DcMotorEx) motor;
-            String deviceName = getDeviceName(motorEx);
-            if (deviceName == null) continue;
 
-            CustomVariable stateUpdate = new CustomVariable();
-            stateUpdate.putVariable("Current Position", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(motorEx.getCurrentPosition())));
-            double current = Math.round(motorEx.getCurrent(AMPS) * 100) / 100.0;
-            stateUpdate.putVariable("Current", createVariableFromValue(current));
-
-            stateUpdate.putVariable("Velocity", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(motorEx.getVelocity())));
+        DcMotorEx.RunMode runMode = device.takeEdit("Run Mode");
+        if (runMode != null) {
+            motor.setMode(runMode);
+        }
 
-            CustomVariable existingConfig = (CustomVariable) motorsVar.getVariable(deviceName);
-            if (existingConfig != null) {
-                existingConfig.update(stateUpdate);
-            }
+        Double power = device.takeEdit("Power");
+        if (power != null) {
+            motor.setPower(power);
         }
     }
 
-    /* -------------------- Servo Handling --------------------- */
-
     /**
-     * Discovers all servos in the hardware map and creates dashboard variables for them.
-     * Each servo gets variables for position control and port information.
+     * Adds the current position, velocity, and current draw of a motor to a packet.
      *
-     * @param hardwareRoot the root variable container to add servo variables to
+     * @param motor  the motor to read
+     * @param packet the packet to add the readings to
      */
-    private void initializeServoVariables(CustomVariable hardwareRoot) {
-        CustomVariable servos = new CustomVariable();
-
-        for (Servo servo : hardwareMap.getAll(Servo.class)) {
-            String deviceName = getDeviceName(servo);
-            if (deviceName == null) continue;
-
-            servos.putVariable(deviceName, createServoVariable(servo));
-        }
-
-        hardwareRoot.putVariable("Servos", servos);
+    private void putMotorReadings(Device<DcMotorEx> motor, TelemetryPacket packet) {
+        packet.put(motor.keyPrefix + "Current Position", motor.device.getCurrentPosition());
+        packet.put(motor.keyPrefix + "Velocity", motor.device.getVelocity());
+        packet.put(motor.keyPrefix + "Current", motor.device.getCurrent(AMPS));
     }
 
+    /* -------------------- Servo Handling --------------------- */
+
     /**
      * Creates a dashboard variable structure for a single servo.
-     * Includes position control and port information.
+     * Includes position control and port information. Uses -1.0 as a sentinel value to
+     * indicate no position change is desired.
      *
-     * @param servo the servo to create variables for
+     * @param device the servo to create variables for
      * @return a CustomVariable containing servo-related dashboard controls and info
      */
-    private CustomVariable createServoVariable(Servo servo) {
+    private CustomVariable createServoVariable(Device<Servo> device) {
+        Servo servo = device.device;
         CustomVariable servoVar = new CustomVariable();
         String hubType = extractHubType(servo.getController().getConnectionInfo());
 
-        servoVar.putVariable("Position", createVariableFromValue(-1.0));
+        device.addControl(servoVar, "Position", -1.0);
         servoVar.putVariable(hubType + " Port", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(servo.getPortNumber())));
 
         return servoVar;
     }
 
     /**
-     * Applies configuration changes from the dashboard to all servos.
-     * Updates servo positions based on dashboard inputs.
-     *
-     * @param hardwareRoot the root variable container containing servo configurations
-     */
-    private void updateServosFromConfig(CustomVariable hardwareRoot) {
-        CustomVariable servosVar = (CustomVariable) hardwareRoot.getVariable("Servos");
-        if (servosVar == null) return;
-
-        for (Servo servo : hardwareMap.getAll(Servo.class)) {
-            String servoName = getDeviceName(servo);
-            if (servoName == null) continue;
-
-            CustomVariable servoVar = (CustomVariable) servosVar.getVariable(servoName);
-            if (servoVar != null) {
-                applyServoConfiguration(servo, servoVar);
-            }
-        }
-    }
-
-    /**
-     * Applies position configuration from the dashboard to a specific servo.
-     * Uses -1.0 as a sentinel value to indicate no position change is desired.
+     * Applies the edited position of a servo unless it is the -1.0 sentinel.
      *
-     * @param servo  the servo to configure
-     * @param config the configuration variables from the dashboard
+     * @param device the servo to update
      */
-    private void applyServoConfiguration(Servo servo, CustomVariable config) {
-        ConfigVariable<?> positionVar = config.getVariable("Position");
-        if (positionVar == null) return;
-
-        double newPosition = (double) positionVar.getValue();
-        if (newPosition != -1.0) {
-            servo.setPosition(newPosition);
+    private void applyServoControls(Device<Servo> device) {
+        Double position = device.takeEdit("Position");
+        if (position != null && position != -1.0) {
+            device.device.setPosition(position);
         }
     }
 
     /* -------------------- CRServo Handling --------------------- */
 
-    /**
-     * Discovers all CRServos in the hardware map and creates dashboard variables for them.
-     * Each motor gets variables for power and port information.
-     *
-     * @param hardwareRoot the root variable container to add CRServo variables to
-     */
-    private void initializeCRServoVariables(CustomVariable hardwareRoot) {
-        CustomVariable CRServos = new CustomVariable();
-
-        for (CRServo crservo : hardwareMap.getAll(CRServo.class)) {
-            String deviceName = getDeviceName(crservo);
-            if (deviceName == null) continue;
-
-            CRServos.putVariable(deviceName, createCRServoVariable(crservo));
-        }
-
-        hardwareRoot.putVariable("Continuous Rotation Servos", CRServos);
-    }
-
     /**
      * Creates a complete dashboard variable structure for a single CR Servo.
      * Includes power control and port information.
      *
-     * @param servo the CRServo to create variables for
+     * @param device the CRServo to create variables for
      * @return a CustomVariable containing CRServo-related dashboard controls and info
      */
-    private CustomVariable createCRServoVariable(CRServo servo) {
+    private CustomVariable createCRServoVariable(Device<CRServo> device) {
+        CRServo servo = device.device;
         CustomVariable servoVar = new CustomVariable();
         String hubType = extractHubType(servo.getController().getConnectionInfo());
 
-        servoVar.putVariable("Power", new BasicVariable<>(new ValueProvider<Double>() {
-            private double value = 0.0;
-
-            @Override
-            public Double get() {
-                return value;
-            }
-
-            @Override
-            public void set(Double newValue) {
-                value = newValue;
-                servo.setPower(newValue);
-            }
-        }));
+        device.addControl(servoVar, "Power", 0.0);
 
         servoVar.putVariable(hubType + " Port", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(servo.getPortNumber())));
 
@@ -409,114 +425,55 @@ public class HardwareOpMode extends OpMode {
     }
 
     /**
-     * Applies configuration changes from the dashboard to all CRServos.
-     * Updates CRServo powers based on dashboard inputs.
+     * Applies the edited power of a CR Servo.
      *
-     * @param hardwareRoot the root variable container containing CRServo configurations
+     * @param device the CRServo to update
      */
-    private void updateCRServoFromConfig(CustomVariable hardwareRoot) {
-        CustomVariable crServosVar = (CustomVariable) hardwareRoot.getVariable("Continuous Rotation Servos");
-        if (crServosVar == null) return;
-
-        for (CRServo servo : hardwareMap.getAll(CRServo.class)) {
-            String motorName = getDeviceName(servo);
-            if (motorName == null) continue;
-
-            CustomVariable servoVar = (CustomVariable) crServosVar.getVariable(motorName);
-            if (servoVar != null) {
-                applyCRServoConfiguration(servo, servoVar);
-            }
-        }
-    }
-
-    /**
-     * Applies configuration settings from the dashboard to a specific motor.
-     * Handles power changes.
-     *
-     * @param servo  the CRServo to configure
-     * @param config the configuration variables from the dashboard
-     */
-    private void applyCRServoConfiguration(CRServo servo, CustomVariable config) {
-        ConfigVariable<?> runModeVar = config.getVariable("Power");
-        if (runModeVar != null) {
-            servo.setPower((Double) runModeVar.getValue());
+    private void applyCRServoControls(Device<CRServo> device) {
+        Double power = device.takeEdit("Power");
+        if (power != null) {
+            device.device.setPower(power);
         }
     }
 
     /* -------------------- Color Sensor Handling --------------------- */
-    /**
-     * Discovers all Color Sensors in the hardware map and creates dashboard variables for them.
-     * Each sensor gets variables for RGB and port information.
-     *
-     * @param hardwareRoot the root variable container to add color sensor variables to
-     */
-    private void initializeColorSensorVariables(CustomVariable hardwareRoot) {
-        CustomVariable colorSensors = new CustomVariable();
-
-        for (ColorSensor colorSensor : hardwareMap.getAll(ColorSensor.class)) {
-            String deviceName = getDeviceName(colorSensor);
-            if (deviceName == null) continue;
-
-            colorSensors.putVariable(deviceName, createColorSensorVariable(colorSensor));
-        }
-
-        hardwareRoot.putVariable("Color Sensors", colorSensors);
-    }
 
     /**
-     * Creates a complete dashboard variable structure for a single color sensor.
-     * Includes RGB and port information.
+     * Creates a dashboard variable structure for a single color sensor.
+     * Includes port information; readings are sent as telemetry.
      *
-     * @param colorSensor the color sensor to create variables for
-     * @return a CustomVariable containing Color Sensor-related dashboard controls and info
+     * @param device the color sensor to create variables for
+     * @return a CustomVariable containing Color Sensor-related dashboard info
      */
-    private CustomVariable createColorSensorVariable(ColorSensor colorSensor) {
+    private CustomVariable createColorSensorVariable(Device<ColorSensor> device) {
+        ColorSensor colorSensor = device.device;
         CustomVariable colorSensorVar = new CustomVariable();
         String hubType = extractHubType(colorSensor.getConnectionInfo());
 
-        getColorSensorState(colorSensor, colorSensorVar);
-
         colorSensorVar.putVariable(hubType + " Port", createVariableFromValue(VariableType.READONLY_STRING, extractI2CPort(colorSensor.getConnectionInfo())));
 
         return colorSensorVar;
     }
 
     /**
-     * Updates the dashboard with current color sensor telemetry data.
-     * Refreshes color readings for all color sensors.
+     * Adds the current color readings of a color sensor to a packet.
      *
-     * @param hardwareRoot the root variable container to update with color sensor telemetry
+     * @param colorSensor the color sensor to read
+     * @param packet      the packet to add the readings to
      */
-    private void updateColorSensorStateVariables(CustomVariable hardwareRoot) {
-        CustomVariable colorSensorsVar = (CustomVariable) hardwareRoot.getVariable("Color Sensors");
-        if (colorSensorsVar == null) return;
-
-        for (ColorSensor colorSensor : hardwareMap.getAll(ColorSensor.class)) {
-            String deviceName = getDeviceName(colorSensor);
-            if (deviceName == null) continue;
-
-            CustomVariable stateUpdate = new CustomVariable();
-            getColorSensorState(colorSensor, stateUpdate);
-
-            CustomVariable existingConfig = (CustomVariable) colorSensorsVar.getVariable(deviceName);
-            if (existingConfig != null) {
-                existingConfig.update(stateUpdate);
-            }
-        }
-    }
-
-    private void getColorSensorState(ColorSensor colorSensor, CustomVariable stateVariable) {
-        stateVariable.putVariable("Red", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(colorSensor.red())));
-        stateVariable.putVariable("Green", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(colorSensor.green())));
-        stateVariable.putVariable("Blue", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(colorSensor.blue())));
+    private void putColorSensorReadings(Device<ColorSensor> colorSensor,
+                                        TelemetryPacket packet) {
+        ColorSensor sensor = colorSensor.device;
+        packet.put(colorSensor.keyPrefix + "Red", sensor.red());
+        packet.put(colorSensor.keyPrefix + "Green", sensor.green());
+        packet.put(colorSensor.keyPrefix + "Blue", sensor.blue());
 
         // Additional handling for preferred methods implemented by common sensors i.e. Rev V3
-        if (colorSensor instanceof NormalizedColorSensor) {
-            NormalizedColorSensor normColorSensor = (NormalizedColorSensor) colorSensor;
-            NormalizedRGBA reading = normColorSensor.getNormalizedColors();
-            stateVariable.putVariable("Normalized Red", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(reading.red)));
-            stateVariable.putVariable("Normalized Green", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(reading.green)));
-            stateVariable.putVariable("Normalized Blue", createVariableFromValue(VariableType.READONLY_STRING, String.valueOf(reading.blue)));
+        if (sensor instanceof NormalizedColorSensor) {
+            NormalizedRGBA reading = ((NormalizedColorSensor) sensor).getNormalizedColors();
+            packet.put(colorSensor.keyPrefix + "Normalized Red", reading.red);
+            packet.put(colorSensor.keyPrefix + "Normalized Green", reading.green);
+            packet.put(colorSensor.keyPrefix + "Normalized Blue", reading.blue);
         }
     }
 
@@ -1,3 +1,4 @@
+import { useEffect, useState } from 'react';
 import { useSelector } from 'react-redux';
 
 import CustomVariable from './ConfigView/CustomVariable';
@@ -14,7 +15,10 @@ import { ReactComponent as SaveIcon } from '@/assets/icons/save.svg';
 import { ReactComponent as RefreshIcon } from '@/assets/icons/refresh.svg';
 
 import { RootState, useAppDispatch } from '@/store/reducers';
-import { HARDWARE_CATEGORY } from '@/store/reducers/config';
+import {
+  HARDWARE_CATEGORY,
+  HARDWARE_READING_PREFIX,
+} from '@/store/reducers/config';
 import {
   ConfigVar,
   ConfigVarState,
@@ -79,6 +83,27 @@ const HardwareView = ({
 }: HardwareViewProps) => {
   const dispatch = useAppDispatch();
 
+  // readings are streamed as telemetry rather than stored in the config tree
+  const [readings, setReadings] = useState<{ [key: string]: string }>({});
+  const packets = useSelector((state: RootState) => state.telemetry);
+  useEffect(() => {
+    setReadings((prevReadings) =>
+      packets.reduce(
+        (acc, { data }) =>
+          Object.keys(data)
+            .filter((k) => k.startsWith(HARDWARE_READING_PREFIX))
+            .reduce(
+              (acc, k) => ({
+                ...acc,
+                [k.substring(HARDWARE_READING_PREFIX.length)]: data[k],
+              }),
+              acc,
+            ),
+        prevReadings,
+      ),
+    );
+  }, [packets]);
+
   const configRoot = useSelector(
     (state: RootState) => state.config.configRoot,
   ) as CustomVarState;
@@ -91,6 +116,9 @@ const HardwareView = ({
   };
 
   const rootValue = hardwareRoot.__value;
+  const readingKeys = Object.keys(readings);
+  readingKeys.sort();
+
   if (rootValue === null) {
     return (
       <BaseView isUnlocked={isUnlocked}>
@@ -190,6 +218,12 @@ const HardwareView = ({
                 }
               />
             ))}
+            {readingKeys.map((key) => (
+              <tr key={key}>
+                <td>{key}</td>
+                <td>{readings[key]}</td>
+              </tr>
+            ))}
           </tbody>
         </table>
       </BaseViewBody>
@@ -11,6 +11,8 @@ import {
 } from '@/store/types/config';
 
 export const HARDWARE_CATEGORY = '__hardware__';
+// keep in sync with HardwareOpMode.READING_KEY_PREFIX
+export const HARDWARE_READING_PREFIX = 'Hardware/';
 
 function inflate(v: ConfigVar): ConfigVarState {
   if (v.__type === 'custom') {